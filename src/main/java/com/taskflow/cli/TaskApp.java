@@ -3,12 +3,23 @@ package com.taskflow.cli;
 import com.taskflow.model.Task;
 import com.taskflow.model.TaskStatus;
 import com.taskflow.repository.JsonTaskRepository;
+import com.taskflow.service.TaskPage;
 import com.taskflow.service.TaskService;
+import com.taskflow.service.TaskStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.SortedMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Command-line interface for the TaskFlow application.
@@ -18,12 +29,16 @@ public class TaskApp {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskApp.class);
     private static final String DATA_FILE = "tasks.json";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int STATS_DAYS = 7;
+    private static final Pattern AGE = Pattern.compile("(\\d{1,9})([smhd])");
+    private static final DateTimeFormatter SINCE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     private final TaskService taskService;
     private final Scanner scanner;
 
     public TaskApp() {
-        JsonTaskRepository repository = new JsonTaskRepository(DATA_FILE);
+        JsonTaskRepository repository = new JsonTaskRepository(DATA_FILE, true, 0);
         this.taskService = new TaskService(repository);
         this.scanner = new Scanner(System.in);
         logger.info("TaskApp started with persistent storage");
@@ -60,16 +75,19 @@ public class TaskApp {
             try {
                 switch (command) {
                     case "add" -> handleAdd(parts);
-                    case "list" -> handleList();
+                    case "list" -> handleList(parts);
                     case "complete" -> handleComplete(parts);
                     case "filter" -> handleFilter(parts);
+                    case "search" -> handleSearch(parts);
                     case "delete" -> handleDelete(parts);
                     case "progress" -> handleProgress(parts);
+                    case "stats" -> handleStats();
                     case "help" -> printHelp();
                     case "exit", "quit" -> {
                         System.out.println("Goodbye!");
                         logger.info("Application exiting");
                         running = false;
+                        taskService.close();
                     }
                     default -> System.out.println("Unknown command: " + command + ". Type 'help' for available commands.");
                 }
@@ -94,7 +112,16 @@ public class TaskApp {
         printTask(task);
     }
 
-    private void handleList() {
+    private void handleList(String[] parts) {
+        if (parts.length > 1 && "--since".equals(parts[1])) {
+            handleListSince(parts);
+            return;
+        }
+        if (parts.length > 1) {
+            handleListPage(parts);
+            return;
+        }
+
         List<Task> tasks = taskService.getAllTasks();
 
         if (tasks.isEmpty()) {
@@ -106,6 +133,88 @@ public class TaskApp {
         System.out.printf("Total: %d task(s)%n", tasks.size());
     }
 
+    private void handleListPage(String[] parts) {
+        String[] options = String.join(" ", Arrays.copyOfRange(parts, 1, parts.length)).split("\\s+");
+        int cursor = 0;
+        int limit = DEFAULT_PAGE_SIZE;
+
+        try {
+            for (int i = 0; i < options.length; i += 2) {
+                if (i + 1 >= options.length) {
+                    throw new NumberFormatException();
+                }
+                switch (options[i]) {
+                    case "--page" -> cursor = Integer.parseInt(options[i + 1]);
+                    case "--limit" -> limit = Integer.parseInt(options[i + 1]);
+                    default -> throw new NumberFormatException();
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: list [--page <cursor>] [--limit <count>]");
+            return;
+        }
+
+        TaskPage page = taskService.getTasksPage(cursor, limit);
+
+        if (page.tasks().isEmpty()) {
+            System.out.println("No tasks found.");
+            return;
+        }
+
+        printTaskTable(page.tasks());
+        System.out.printf("Showing: %d task(s)%n", page.tasks().size());
+        page.nextCursor().ifPresent(next ->
+                System.out.printf("Next page: list --page %d --limit %d%n", next, page.tasks().size()));
+    }
+
+    private void handleListSince(String[] parts) {
+        LocalDateTime since = parts.length > 2 ? parseSince(parts[2].trim()) : null;
+        if (since == null) {
+            System.out.println("Usage: list --since <time> (e.g. 30m, 2h, 1d, 2024-01-31 or 2024-01-31 09:00)");
+            return;
+        }
+
+        List<Task> tasks = taskService.getTasksCreatedBetween(since, null);
+
+        if (tasks.isEmpty()) {
+            System.out.println("No tasks created since " + since.format(SINCE_FORMAT));
+            return;
+        }
+
+        printTaskTable(tasks);
+        System.out.printf("Found: %d task(s) created since %s%n", tasks.size(), since.format(SINCE_FORMAT));
+    }
+
+    /**
+     * Parses an age such as {@code 45s}, {@code 30m}, {@code 2h} or {@code 7d}, a date,
+     * or a date and time, either ISO ({@code 2024-01-31T09:00}) or as the task list
+     * prints it ({@code 2024-01-31 09:00}). Returns null if the text is none of these.
+     */
+    private LocalDateTime parseSince(String text) {
+        Matcher age = AGE.matcher(text);
+        if (age.matches()) {
+            long amount = Long.parseLong(age.group(1));
+            LocalDateTime now = LocalDateTime.now();
+            return switch (age.group(2)) {
+                case "s" -> now.minusSeconds(amount);
+                case "m" -> now.minusMinutes(amount);
+                case "h" -> now.minusHours(amount);
+                default -> now.minusDays(amount);
+            };
+        }
+        try {
+            if (text.contains("T")) {
+                return LocalDateTime.parse(text);
+            }
+            if (text.contains(" ")) {
+                return LocalDateTime.parse(text.replaceAll("\\s+", " "), SINCE_FORMAT);
+            }
+            return LocalDate.parse(text).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     private void handleComplete(String[] parts) {
         if (parts.length < 2) {
             System.out.println("Usage: complete <id>");
@@ -144,6 +253,24 @@ public class TaskApp {
         }
     }
 
+    private void handleSearch(String[] parts) {
+        if (parts.length < 2) {
+            System.out.println("Usage: search <terms>");
+            return;
+        }
+
+        String terms = parts.length > 2 ? parts[1] + " " + parts[2] : parts[1];
+        List<Task> matches = taskService.searchTasks(terms);
+
+        if (matches.isEmpty()) {
+            System.out.println("No tasks found matching: " + terms);
+            return;
+        }
+
+        printTaskTable(matches);
+        System.out.printf("Found: %d task(s) matching '%s'%n", matches.size(), terms);
+    }
+
     private void handleDelete(String[] parts) {
         if (parts.length < 2) {
             System.out.println("Usage: delete <id>");
@@ -184,6 +311,40 @@ public class TaskApp {
         }
     }
 
+    private void handleStats() {
+        TaskStats stats = taskService.getStats();
+
+        System.out.println("─".repeat(40));
+        for (TaskStatus status : TaskStatus.values()) {
+            System.out.printf("%-15s %d%n", status, stats.getCount(status));
+        }
+        System.out.printf("%-15s %d%n", "Total", stats.getTotal());
+        System.out.printf("%-15s %.1f%%%n", "Completed", stats.getCompletionRate() * 100);
+        System.out.printf("%-15s %s%n", "Avg. to done", stats.getAverageTimeToDone()
+                .map(TaskApp::formatDuration)
+                .orElse("-"));
+        System.out.println("─".repeat(40));
+
+        SortedMap<LocalDate, Long> perDay = stats.getCreatedPerDay();
+        if (!perDay.isEmpty()) {
+            System.out.println("Created per day (latest " + Math.min(STATS_DAYS, perDay.size()) + "):");
+            List<LocalDate> days = List.copyOf(perDay.keySet());
+            for (LocalDate day : days.subList(Math.max(0, days.size() - STATS_DAYS), days.size())) {
+                System.out.printf("  %s  %d%n", day, perDay.get(day));
+            }
+        }
+    }
+
+    private static String formatDuration(Duration duration) {
+        if (duration.toDays() > 0) {
+            return String.format("%dd %dh", duration.toDays(), duration.toHoursPart());
+        }
+        if (duration.toHours() > 0) {
+            return String.format("%dh %dm", duration.toHours(), duration.toMinutesPart());
+        }
+        return String.format("%dm %ds", duration.toMinutes(), duration.toSecondsPart());
+    }
+
     private void printTask(Task task) {
         System.out.println("  " + task);
     }
@@ -220,10 +381,14 @@ public class TaskApp {
         System.out.println("Available commands:");
         System.out.println("  add <title> [description]  - Create a new task");
         System.out.println("  list                       - List all tasks");
+        System.out.println("  list [--page <n>] [--limit <n>] - List one page of tasks, after task <n>");
+        System.out.println("  list --since <time>        - List tasks created since a time or age (e.g. 2h, 1d)");
         System.out.println("  complete <id>              - Mark a task as complete");
         System.out.println("  filter <status>            - Filter tasks by status (TODO, IN_PROGRESS, DONE)");
+        System.out.println("  search <terms>             - Search task titles and descriptions");
         System.out.println("  progress <id>              - Set task to IN_PROGRESS");
         System.out.println("  delete <id>                - Delete a task");
+        System.out.println("  stats                      - Show task statistics");
         System.out.println("  help                       - Show this help message");
         System.out.println("  exit                       - Exit the application");
     }
@@ -3,6 +3,7 @@ package com.taskflow.model;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Represents a task in the task management system.
@@ -17,6 +18,9 @@ public class Task {
     private TaskStatus status;
     private final LocalDateTime createdAt;
 
+    /** Reads the description on demand; null once the description is held in the task. */
+    private transient Supplier<String> descriptionLoader;
+
     public Task(int id, String title, String description) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Task title cannot be null or empty");
@@ -39,6 +43,36 @@ public class Task {
         this.createdAt = createdAt;
     }
 
+    private Task(Task source) {
+        this.id = source.id;
+        this.title = source.title;
+        this.description = source.description;
+        this.status = source.status;
+        this.createdAt = source.createdAt;
+        this.descriptionLoader = source.descriptionLoader;
+    }
+
+    /**
+     * Creates a task whose description is not held in memory but read through the loader
+     * each time {@link #getDescription()} is called, until it is set. The loader should
+     * cache if reading is expensive. The description field itself stays empty, so a
+     * serializer that reads fields must check {@link #hasLazyDescription()}.
+     *
+     * @param id          the task ID
+     * @param title       the task title (required)
+     * @param description reads the description
+     * @param status      the task status
+     * @param createdAt   the creation time
+     * @return the task
+     * @throws IllegalArgumentException if title is null or empty
+     */
+    public static Task withLazyDescription(int id, String title, Supplier<String> description, TaskStatus status,
+                                           LocalDateTime createdAt) {
+        Task task = new Task(id, title, "", status, createdAt);
+        task.descriptionLoader = Objects.requireNonNull(description, "description");
+        return task;
+    }
+
     public int getId() {
         return id;
     }
@@ -55,11 +89,22 @@ public class Task {
     }
 
     public String getDescription() {
-        return description;
+        Supplier<String> loader = descriptionLoader;
+        return loader != null ? loader.get() : description;
+    }
+
+    /**
+     * Returns whether the description is read through a loader rather than held in the task.
+     *
+     * @return true for a task whose description has not been set since it was created lazily
+     */
+    public boolean hasLazyDescription() {
+        return descriptionLoader != null;
     }
 
     public void setDescription(String description) {
         this.description = description != null ? description.trim() : "";
+        this.descriptionLoader = null;
     }
 
     public TaskStatus getStatus() {
@@ -78,11 +123,20 @@ public class Task {
         return createdAt.format(DISPLAY_FORMAT);
     }
 
+    /**
+     * Returns a copy of this task that cannot be changed: its setters throw
+     * UnsupportedOperationException. A task that is already read-only is returned as is.
+     *
+     * @return a read-only copy of this task
+     */
+    public Task readOnlyCopy() {
+        return this instanceof ReadOnlyTask ? this : new ReadOnlyTask(this);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Task task = (Task) o;
+        if (!(o instanceof Task task)) return false;
         return id == task.id;
     }
 
@@ -95,4 +149,29 @@ public class Task {
     public String toString() {
         return String.format("[%d] %s (Status: %s, Created: %s)", id, title, status, getFormattedCreatedAt());
     }
+
+    /**
+     * A task frozen at the moment it was copied. A lazy description stays lazy.
+     */
+    private static final class ReadOnlyTask extends Task {
+
+        private ReadOnlyTask(Task task) {
+            super(task);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            throw new UnsupportedOperationException("Task " + getId() + " is read-only");
+        }
+
+        @Override
+        public void setDescription(String description) {
+            throw new UnsupportedOperationException("Task " + getId() + " is read-only");
+        }
+
+        @Override
+        public void setStatus(TaskStatus status) {
+            throw new UnsupportedOperationException("Task " + getId() + " is read-only");
+        }
+    }
 }
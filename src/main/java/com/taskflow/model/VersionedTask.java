@@ -0,0 +1,78 @@
+package com.taskflow.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * An immutable view of a task as of one version. Unlike {@link Task} it can be shared
+ * between threads and cached freely. To change a task, derive a copy with the
+ * {@code with...} methods, which keep the version, and hand it to
+ * {@code TaskService.compareAndSet}: the change is applied only if the task is still
+ * at that version.
+ *
+ * @param id          the task ID
+ * @param title       the task title
+ * @param description the task description
+ * @param status      the task status
+ * @param createdAt   the creation time
+ * @param version     the version of the task this state was read at, counting from 1
+ */
+public record VersionedTask(int id, String title, String description, TaskStatus status, LocalDateTime createdAt,
+                            long version) {
+
+    public VersionedTask {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task title cannot be null or empty");
+        }
+        title = title.trim();
+        description = description != null ? description.trim() : "";
+        Objects.requireNonNull(status, "status");
+        Objects.requireNonNull(createdAt, "createdAt");
+        if (version < 1) {
+            throw new IllegalArgumentException("Task version must be positive: " + version);
+        }
+    }
+
+    /**
+     * Returns the state of a task at the given version.
+     *
+     * @param task    the task
+     * @param version its version
+     * @return the immutable state
+     */
+    public static VersionedTask of(Task task, long version) {
+        return new VersionedTask(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreatedAt(), version);
+    }
+
+    /**
+     * Returns a copy with the given title, at the same version.
+     *
+     * @param title the new title (required)
+     * @return the copy
+     * @throws IllegalArgumentException if title is null or empty
+     */
+    public VersionedTask withTitle(String title) {
+        return new VersionedTask(id, title, description, status, createdAt, version);
+    }
+
+    /**
+     * Returns a copy with the given description, at the same version.
+     *
+     * @param description the new description (optional)
+     * @return the copy
+     */
+    public VersionedTask withDescription(String description) {
+        return new VersionedTask(id, title, description, status, createdAt, version);
+    }
+
+    /**
+     * Returns a copy with the given status, at the same version.
+     *
+     * @param status the new status
+     * @return the copy
+     */
+    public VersionedTask withStatus(TaskStatus status) {
+        return new VersionedTask(id, title, description, status, createdAt, version);
+    }
+}
@@ -0,0 +1,317 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Binary, memory-mapped implementation of TaskRepository.
+ * Tasks are stored as fixed-width records followed by a heap of UTF-8 string data:
+ *
+ * <pre>
+ * header  (32 bytes): magic, version, record count, record size, heap offset, heap length
+ * records (40 bytes each): id, status ordinal, createdAt epoch second and nano,
+ *                          title offset and length, description offset and length
+ * heap:    title and description bytes, addressed relative to the heap offset
+ * </pre>
+ *
+ * Both loading and saving go through a memory-mapped FileChannel, so a load is a
+ * sequential scan of the mapped records instead of a text parse.
+ *
+ * <p>With lazy descriptions, a load decodes everything but the descriptions. Each task
+ * keeps only the position of its description in the mapped file and decodes it when
+ * {@link Task#getDescription()} is called, through a bounded LRU cache of recently read
+ * descriptions. The mapping stays valid after the file is rewritten, since a rewrite
+ * replaces the file rather than changing it. Lazy loading pays off when tasks are kept
+ * as objects; a store that copies each description on load reads them all anyway.
+ */
+public class BinaryTaskRepository implements TaskRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryTaskRepository.class);
+
+    static final int MAGIC = 0x54464231; // "TFB1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 40;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final Path filePath;
+    private final int descriptionCacheSize;
+    private final RewriteCache rewriteCache = new RewriteCache();
+
+    public BinaryTaskRepository(String filePath) {
+        this(filePath, 0);
+    }
+
+    /**
+     * Creates a repository that loads descriptions lazily if a cache size is given.
+     *
+     * @param filePath             path of the task file
+     * @param descriptionCacheSize number of descriptions kept in the LRU cache of each
+     *                             load, or 0 to load descriptions eagerly
+     */
+    public BinaryTaskRepository(String filePath, int descriptionCacheSize) {
+        if (descriptionCacheSize < 0) {
+            throw new IllegalArgumentException("Description cache size cannot be negative: " + descriptionCacheSize);
+        }
+        this.filePath = Path.of(filePath);
+        this.descriptionCacheSize = descriptionCacheSize;
+        logger.info("BinaryTaskRepository initialized with file: {} (lazy descriptions: {})",
+                filePath, descriptionCacheSize > 0);
+    }
+
+    @Override
+    public synchronized void saveAll(List<Task> tasks) {
+        write(rewriteCache.replaceWith(tasks));
+    }
+
+    /**
+     * The string heap shifts with every change, so changes are applied to the cached
+     * task list and the file is rewritten once per call.
+     */
+    @Override
+    public synchronized void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        if (upserted.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        if (!rewriteCache.isLoaded()) {
+            rewriteCache.replaceWith(loadAll());
+        }
+        write(rewriteCache.apply(upserted, deletedIds));
+    }
+
+    private void write(List<Task> tasks) {
+        long heapLength = 0;
+        for (Task task : tasks) {
+            heapLength += utf8Length(task.getTitle()) + utf8Length(task.getDescription());
+        }
+        long heapOffset = HEADER_SIZE + (long) tasks.size() * RECORD_SIZE;
+        long fileSize = heapOffset + heapLength;
+        if (fileSize > Integer.MAX_VALUE) {
+            rewriteCache.invalidate();
+            throw new IllegalArgumentException("Task store too large for binary format: " + fileSize + " bytes");
+        }
+
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                buffer.putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(tasks.size())
+                        .putInt(RECORD_SIZE)
+                        .putLong(heapOffset)
+                        .putLong(heapLength);
+
+                int heapPosition = 0;
+                int recordPosition = HEADER_SIZE;
+                for (Task task : tasks) {
+                    byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+                    byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                    LocalDateTime createdAt = task.getCreatedAt();
+
+                    buffer.putInt(recordPosition, task.getId());
+                    buffer.put(recordPosition + 4, (byte) task.getStatus().ordinal());
+                    buffer.putLong(recordPosition + 8, createdAt.toEpochSecond(ZoneOffset.UTC));
+                    buffer.putInt(recordPosition + 16, createdAt.getNano());
+                    buffer.putInt(recordPosition + 20, heapPosition);
+                    buffer.putInt(recordPosition + 24, title.length);
+                    buffer.put((int) heapOffset + heapPosition, title);
+                    heapPosition += title.length;
+                    buffer.putInt(recordPosition + 28, heapPosition);
+                    buffer.putInt(recordPosition + 32, description.length);
+                    buffer.put((int) heapOffset + heapPosition, description);
+                    heapPosition += description.length;
+                    recordPosition += RECORD_SIZE;
+                }
+                buffer.force();
+            }
+            Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Saved {} tasks to {} ({} bytes)", tasks.size(), filePath, fileSize);
+        } catch (IOException e) {
+            rewriteCache.invalidate();
+            logger.error("Failed to save tasks to {}: {}", filePath, e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Task> loadAll() {
+        List<Task> loaded = new ArrayList<>();
+        try {
+            forEachTask(loaded::add);
+            return loaded;
+        } catch (RuntimeException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Scans the mapped records in file order, decoding each task's strings from the heap,
+     * or only its title if descriptions are lazy.
+     *
+     * @throws RuntimeException if the file cannot be read or is not a valid task file
+     */
+    @Override
+    public void forEachTask(Consumer<Task> consumer) {
+        if (!Files.exists(filePath)) {
+            logger.info("No existing task file found at {}, starting fresh", filePath);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                logger.info("Task file is empty, starting fresh");
+                return;
+            }
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Unexpected file size " + fileSize);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int magic = buffer.getInt(0);
+            int version = buffer.getInt(4);
+            int count = buffer.getInt(8);
+            int recordSize = buffer.getInt(12);
+            long heapOffset = buffer.getLong(16);
+            long heapLength = buffer.getLong(24);
+            if (magic != MAGIC || version != VERSION || recordSize != RECORD_SIZE) {
+                throw new IllegalStateException("Not a TaskFlow binary task file");
+            }
+            if (count < 0 || heapOffset != HEADER_SIZE + (long) count * RECORD_SIZE
+                    || heapOffset + heapLength != fileSize) {
+                throw new IllegalStateException("Inconsistent header");
+            }
+
+            LazyDescriptions descriptions = descriptionCacheSize > 0
+                    ? new LazyDescriptions(buffer, (int) heapOffset, descriptionCacheSize)
+                    : null;
+            byte[] scratch = new byte[256];
+            int recordPosition = HEADER_SIZE;
+            for (int i = 0; i < count; i++) {
+                int id = buffer.getInt(recordPosition);
+                int status = buffer.get(recordPosition + 4);
+                long epochSecond = buffer.getLong(recordPosition + 8);
+                int nano = buffer.getInt(recordPosition + 16);
+                if (status < 0 || status >= STATUSES.length) {
+                    throw new IllegalStateException("Invalid status ordinal " + status + " for task " + id);
+                }
+
+                int titleLength = buffer.getInt(recordPosition + 24);
+                int descriptionOffset = buffer.getInt(recordPosition + 28);
+                int descriptionLength = buffer.getInt(recordPosition + 32);
+                if (titleLength < 0 || descriptionOffset < 0 || descriptionLength < 0
+                        || (long) descriptionOffset + descriptionLength > heapLength) {
+                    throw new IllegalStateException("Invalid string bounds for task " + id);
+                }
+                if (scratch.length < Math.max(titleLength, descriptionLength)) {
+                    scratch = new byte[Math.max(titleLength, descriptionLength)];
+                }
+                String title = readString(buffer, heapOffset, buffer.getInt(recordPosition + 20), titleLength, scratch);
+                LocalDateTime createdAt = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+
+                Task task;
+                if (descriptions != null && descriptionLength > 0) {
+                    task = Task.withLazyDescription(id, title,
+                            () -> descriptions.get(descriptionOffset, descriptionLength), STATUSES[status], createdAt);
+                } else {
+                    String description = readString(buffer, heapOffset, descriptionOffset, descriptionLength, scratch);
+                    task = new Task(id, title, description, STATUSES[status], createdAt);
+                }
+                consumer.accept(task);
+                recordPosition += RECORD_SIZE;
+            }
+            logger.info("Loaded {} tasks from {}", count, filePath);
+        } catch (IOException e) {
+            logger.error("Failed to read tasks from {}: {}", filePath, e.getMessage());
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            logger.error("Failed to parse tasks file {}: {}", filePath, e.getMessage());
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
+        }
+    }
+
+    private static String readString(MappedByteBuffer buffer, long heapOffset, int offset, int length,
+                                     byte[] scratch) {
+        buffer.get((int) heapOffset + offset, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Descriptions of one load, decoded from its mapping of the file on demand. The most
+     * recently read ones are kept, up to a fixed number.
+     */
+    private static final class LazyDescriptions {
+
+        private final MappedByteBuffer buffer;
+        private final int heapOffset;
+        private final Map<Integer, String> recent;
+
+        LazyDescriptions(MappedByteBuffer buffer, int heapOffset, int capacity) {
+            this.buffer = buffer;
+            this.heapOffset = heapOffset;
+            this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized String get(int offset, int length) {
+            String description = recent.get(offset);
+            if (description == null) {
+                description = readString(buffer, heapOffset, offset, length, new byte[length]);
+                recent.put(offset, description);
+            }
+            return description;
+        }
+    }
+
+    /**
+     * Number of bytes {@link String#getBytes} produces for the string in UTF-8,
+     * computed without encoding it. Unpaired surrogates count as the one-byte
+     * replacement character the encoder substitutes for them.
+     */
+    static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
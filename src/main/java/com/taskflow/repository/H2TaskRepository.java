@@ -0,0 +1,338 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Embedded H2 database implementation of TaskRepository.
+ * Tasks live in a single-file database accessed over JDBC, with indexes on ID,
+ * status and creation time, so lookups and status queries are answered by the
+ * database instead of by scanning every task in memory.
+ *
+ * <p>The repository keeps one connection open until {@link #close()} is called.
+ */
+public class H2TaskRepository implements QueryableTaskRepository, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2TaskRepository.class);
+
+    private static final String COLUMNS = "id, title, description, status, created_at";
+
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM tasks";
+    private static final int SCAN_PAGE_SIZE = 256;
+
+    private final Connection connection;
+
+    /**
+     * Opens (and if needed creates) the database stored at the given path.
+     *
+     * @param databasePath path of the database without the {@code .mv.db} extension
+     * @throws RuntimeException if the database cannot be opened
+     */
+    public H2TaskRepository(String databasePath) {
+        String url = "jdbc:h2:file:" + Path.of(databasePath).toAbsolutePath();
+        try {
+            this.connection = DriverManager.getConnection(url);
+            createSchema();
+        } catch (SQLException e) {
+            logger.error("Failed to open task database {}: {}", databasePath, e.getMessage());
+            throw new RuntimeException("Failed to open task database: " + e.getMessage(), e);
+        }
+        logger.info("H2TaskRepository initialized with database: {}", databasePath);
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS tasks ("
+                    + "id INT PRIMARY KEY, "
+                    + "title VARCHAR NOT NULL, "
+                    + "description VARCHAR NOT NULL, "
+                    + "status VARCHAR(16) NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks (status, id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks (created_at)");
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(List<Task> tasks) {
+        inTransaction(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM tasks");
+            }
+            merge(tasks);
+        });
+        logger.info("Saved {} tasks to database", tasks.size());
+    }
+
+    /**
+     * Deletes and upserts just the given rows, in a single transaction.
+     */
+    @Override
+    public synchronized void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        if (upserted.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        inTransaction(() -> {
+            if (!deletedIds.isEmpty()) {
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+                    for (int id : deletedIds) {
+                        delete.setInt(1, id);
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+            }
+            merge(upserted);
+        });
+        logger.debug("Applied {} change(s) to database", upserted.size() + deletedIds.size());
+    }
+
+    private void merge(Collection<Task> tasks) throws SQLException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement merge = connection.prepareStatement(
+                "MERGE INTO tasks (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?)")) {
+            for (Task task : tasks) {
+                merge.setInt(1, task.getId());
+                merge.setString(2, task.getTitle());
+                merge.setString(3, task.getDescription());
+                merge.setString(4, task.getStatus().name());
+                merge.setObject(5, task.getCreatedAt());
+                merge.addBatch();
+            }
+            merge.executeBatch();
+        }
+    }
+
+    @Override
+    public List<Task> loadAll() {
+        List<Task> loaded = new ArrayList<>();
+        try {
+            forEachTask(loaded::add);
+            return loaded;
+        } catch (RuntimeException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams the rows in ID order, which is also creation order.
+     *
+     * @throws RuntimeException if the database cannot be read
+     */
+    @Override
+    public synchronized void forEachTask(Consumer<Task> consumer) {
+        int count = query(SELECT + " ORDER BY id", statement -> { }, consumer);
+        logger.info("Loaded {} tasks from database", count);
+    }
+
+    @Override
+    public synchronized Optional<Task> findById(int id) {
+        List<Task> found = new ArrayList<>(1);
+        query(SELECT + " WHERE id = ?", statement -> statement.setInt(1, id), found::add);
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public synchronized List<Task> findByStatus(TaskStatus status) {
+        List<Task> found = new ArrayList<>();
+        query(SELECT + " WHERE status = ? ORDER BY id", statement -> statement.setString(1, status.name()), found::add);
+        return found;
+    }
+
+    /**
+     * Seeks through the primary key, or the status index when filtering, so only the
+     * rows of the page are read.
+     */
+    @Override
+    public synchronized List<Task> findPage(int afterId, int limit, TaskStatus status) {
+        List<Task> found = new ArrayList<>(limit);
+        if (status == null) {
+            query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", statement -> {
+                statement.setInt(1, afterId);
+                statement.setInt(2, limit);
+            }, found::add);
+        } else {
+            query(SELECT + " WHERE status = ? AND id > ? ORDER BY id LIMIT ?", statement -> {
+                statement.setString(1, status.name());
+                statement.setInt(2, afterId);
+                statement.setInt(3, limit);
+            }, found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Reads one page per query through the primary key, stopping within a page as soon
+     * as the visitor does. The lock is released between pages, so a long scan does not
+     * hold off writers; each page is consistent on its own.
+     */
+    @Override
+    public void scan(int afterId, Predicate<Task> visitor) {
+        int[] lastId = {afterId};
+        boolean[] stopped = {false};
+        int read;
+        do {
+            synchronized (this) {
+                read = queryUntil(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", statement -> {
+                    statement.setInt(1, lastId[0]);
+                    statement.setInt(2, SCAN_PAGE_SIZE);
+                }, task -> {
+                    lastId[0] = task.getId();
+                    stopped[0] = !visitor.test(task);
+                    return !stopped[0];
+                });
+            }
+        } while (!stopped[0] && read == SCAN_PAGE_SIZE);
+    }
+
+    /**
+     * Runs as a range scan of the creation time index.
+     */
+    @Override
+    public synchronized List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> found = new ArrayList<>();
+        String sql = SELECT + " WHERE " + (from == null ? "TRUE" : "created_at >= ?")
+                + " AND " + (to == null ? "TRUE" : "created_at < ?")
+                + " ORDER BY created_at, id";
+        query(sql, statement -> {
+            int parameter = 1;
+            if (from != null) {
+                statement.setObject(parameter++, from);
+            }
+            if (to != null) {
+                statement.setObject(parameter, to);
+            }
+        }, found::add);
+        return found;
+    }
+
+    @Override
+    public synchronized int countByStatus(TaskStatus status) {
+        return queryInt("SELECT COUNT(*) FROM tasks WHERE status = ?", statement -> statement.setString(1, status.name()));
+    }
+
+    @Override
+    public synchronized int count() {
+        return queryInt("SELECT COUNT(*) FROM tasks", statement -> { });
+    }
+
+    @Override
+    public synchronized int maxId() {
+        return queryInt("SELECT COALESCE(MAX(id), 0) FROM tasks", statement -> { });
+    }
+
+    /**
+     * Closes the database connection.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close task database: {}", e.getMessage());
+        }
+    }
+
+    private int query(String sql, Binder binder, Consumer<Task> consumer) {
+        return queryUntil(sql, binder, task -> {
+            consumer.accept(task);
+            return true;
+        });
+    }
+
+    /**
+     * Passes the rows to the visitor until it returns false.
+     *
+     * @return the number of rows read
+     */
+    private int queryUntil(String sql, Binder binder, Predicate<Task> visitor) {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            int count = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    count++;
+                    if (!visitor.test(toTask(rows))) {
+                        break;
+                    }
+                }
+            }
+            return count;
+        } catch (SQLException e) {
+            logger.error("Failed to query task database: {}", e.getMessage());
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
+        }
+    }
+
+    private int queryInt(String sql, Binder binder) {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to query task database: {}", e.getMessage());
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
+        }
+    }
+
+    private static Task toTask(ResultSet rows) throws SQLException {
+        return new Task(
+                rows.getInt(1),
+                rows.getString(2),
+                rows.getString(3),
+                TaskStatus.valueOf(rows.getString(4)),
+                rows.getObject(5, LocalDateTime.class));
+    }
+
+    /**
+     * Runs the work in a transaction, rolling back if it fails.
+     */
+    private void inTransaction(SqlWork work) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                work.run();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to save tasks to database: {}", e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
@@ -4,93 +4,407 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.JsonToken;
 import com.taskflow.model.Task;
 import com.taskflow.model.TaskStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * JSON file-based implementation of TaskRepository.
  * Persists tasks to a JSON file using the Gson library.
+ *
+ * <p>Files can optionally be written as compact, gzip-compressed JSON. Loading
+ * recognises a compressed file by its gzip magic bytes, so either format can be read
+ * regardless of how the repository was configured.
  */
 public class JsonTaskRepository implements TaskRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonTaskRepository.class);
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     private final Path filePath;
     private final Gson gson;
+    private final TypeAdapter<Task> taskAdapter;
+    private final boolean durable;
+    private final boolean compressed;
+    private final long groupCommitWindowMillis;
+
+    /**
+     * Write state guarded by {@code commitLock}: the cached task list used for
+     * incremental changes, and the group commit batches of durable mode.
+     */
+    private final Object commitLock = new Object();
+    private final RewriteCache rewriteCache = new RewriteCache();
+    private CommitBatch openBatch;
+    private boolean writing;
+    private int commitCount;
 
     public JsonTaskRepository(String filePath) {
+        this(filePath, false, 0);
+    }
+
+    /**
+     * Creates a repository that can optionally save durably.
+     * In durable mode every save is written to a temporary file, forced to disk and
+     * atomically renamed over the task file, so a crash leaves either the old or the
+     * new file but never a torn one. Saves that arrive within the group commit window,
+     * or while another save is being written, are folded into a single write and fsync.
+     *
+     * @param filePath                the task file
+     * @param durable                 whether to use crash-safe atomic saves
+     * @param groupCommitWindowMillis how long the first save of a batch waits for others to join
+     */
+    public JsonTaskRepository(String filePath, boolean durable, long groupCommitWindowMillis) {
+        this(filePath, durable, groupCommitWindowMillis, false);
+    }
+
+    /**
+     * Creates a repository that can optionally save durably and compressed.
+     * Compressed files hold compact JSON streamed through a gzip deflater, which is
+     * far smaller than the pretty-printed form for long, repetitive descriptions.
+     *
+     * @param filePath                the task file
+     * @param durable                 whether to use crash-safe atomic saves
+     * @param groupCommitWindowMillis how long the first save of a batch waits for others to join
+     * @param compressed              whether to write gzip-compressed JSON
+     */
+    public JsonTaskRepository(String filePath, boolean durable, long groupCommitWindowMillis, boolean compressed) {
+        if (groupCommitWindowMillis < 0) {
+            throw new IllegalArgumentException("Group commit window cannot be negative");
+        }
         this.filePath = Path.of(filePath);
-        this.gson = new GsonBuilder()
-                .setPrettyPrinting()
+        GsonBuilder builder = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                .create();
-        logger.info("JsonTaskRepository initialized with file: {}", filePath);
+                .registerTypeAdapterFactory(new TaskAdapterFactory());
+        if (!compressed) {
+            builder.setPrettyPrinting();
+        }
+        this.gson = builder.create();
+        this.taskAdapter = gson.getAdapter(Task.class);
+        this.durable = durable;
+        this.compressed = compressed;
+        this.groupCommitWindowMillis = groupCommitWindowMillis;
+        logger.info("JsonTaskRepository initialized with file: {} (durable: {}, compressed: {})",
+                filePath, durable, compressed);
     }
 
     @Override
     public void saveAll(List<Task> tasks) {
+        commit(() -> rewriteCache.replaceWith(tasks));
+    }
+
+    /**
+     * JSON cannot be patched in place, so changes are applied to the cached task list
+     * and the whole file is rewritten once per call (or once per group commit).
+     */
+    @Override
+    public void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        if (upserted.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        commit(() -> {
+            if (!rewriteCache.isLoaded()) {
+                rewriteCache.replaceWith(loadAll());
+            }
+            return rewriteCache.apply(upserted, deletedIds);
+        });
+    }
+
+    /**
+     * Writes the state produced by {@code nextState}, which is evaluated under the
+     * commit lock so concurrent saves always build on each other in order.
+     */
+    private void commit(Supplier<List<Task>> nextState) {
+        if (durable) {
+            groupCommit(nextState);
+            return;
+        }
+
+        synchronized (commitLock) {
+            List<Task> tasks = nextState.get();
+            try (OutputStream out = Files.newOutputStream(filePath)) {
+                writeTasks(out, tasks);
+                logger.info("Saved {} tasks to {}", tasks.size(), filePath);
+            } catch (IOException e) {
+                rewriteCache.invalidate();
+                logger.error("Failed to save tasks to {}: {}", filePath, e.getMessage());
+                throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Joins the open commit batch, or opens one and leads it. The leader waits out the
+     * commit window, then writes the most recent task list of the batch; every caller
+     * in the batch returns (or fails) once that single write is on disk.
+     */
+    private void groupCommit(Supplier<List<Task>> nextState) {
+        CommitBatch batch;
+        boolean leader;
+        synchronized (commitLock) {
+            leader = openBatch == null;
+            if (leader) {
+                openBatch = new CommitBatch();
+            }
+            batch = openBatch;
+            batch.tasks = nextState.get();
+            batch.saves++;
+        }
+
+        if (leader) {
+            lead(batch);
+        } else {
+            awaitCommit(batch);
+        }
+
+        if (batch.failure != null) {
+            throw batch.failure;
+        }
+    }
+
+    private void lead(CommitBatch batch) {
+        if (groupCommitWindowMillis > 0) {
+            try {
+                Thread.sleep(groupCommitWindowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        boolean interrupted = false;
+        synchronized (commitLock) {
+            while (writing) {
+                interrupted |= waitOnCommitLock();
+            }
+            writing = true;
+            openBatch = null;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        RuntimeException failure = null;
+        try {
+            writeAtomically(batch.tasks);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        synchronized (commitLock) {
+            if (failure != null) {
+                rewriteCache.invalidate();
+            }
+            writing = false;
+            commitCount++;
+            batch.failure = failure;
+            batch.done = true;
+            commitLock.notifyAll();
+        }
+        logger.debug("Group commit wrote {} save(s) with one fsync", batch.saves);
+    }
+
+    private void awaitCommit(CommitBatch batch) {
+        boolean interrupted = false;
+        synchronized (commitLock) {
+            while (!batch.done) {
+                interrupted |= waitOnCommitLock();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits on the commit lock. A durable save must not return before it is on disk,
+     * so an interrupt is only reported back for the caller to restore afterwards.
+     *
+     * @return true if the wait was interrupted
+     */
+    private boolean waitOnCommitLock() {
         try {
-            String json = gson.toJson(tasks.toArray(new Task[0]));
-            Files.writeString(filePath, json);
-            logger.info("Saved {} tasks to {}", tasks.size(), filePath);
+            commitLock.wait();
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Writes the tasks to a sibling temporary file, forces it to disk and renames it
+     * over the task file.
+     */
+    private void writeAtomically(List<Task> tasks) {
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeTasks(Channels.newOutputStream(channel), tasks);
+                channel.force(true);
+            }
+            Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+            logger.info("Durably saved {} tasks to {}", tasks.size(), filePath);
         } catch (IOException e) {
             logger.error("Failed to save tasks to {}: {}", filePath, e.getMessage());
             throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Serializes the tasks to the stream, through a gzip deflater in compressed mode.
+     * The stream is flushed but left open for the caller to force and close.
+     */
+    private void writeTasks(OutputStream out, List<Task> tasks) throws IOException {
+        GZIPOutputStream gzip = compressed ? new GZIPOutputStream(out, STREAM_BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip != null ? gzip : out, StandardCharsets.UTF_8),
+                STREAM_BUFFER_SIZE);
+        gson.toJson(tasks.toArray(new Task[0]), writer);
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        out.flush();
+    }
+
+    /**
+     * Forces the directory entry of the rename to disk where the platform allows it.
+     */
+    private void syncDirectory() {
+        Path directory = filePath.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("Directory sync not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Number of durable writes performed so far, for observing group commit.
+     */
+    int getCommitCount() {
+        synchronized (commitLock) {
+            return commitCount;
+        }
+    }
+
     @Override
     public List<Task> loadAll() {
+        List<Task> loaded = new ArrayList<>();
+        try {
+            forEachTask(loaded::add);
+            return loaded;
+        } catch (RuntimeException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams tasks out of the JSON array one element at a time, so the raw file text
+     * and a parsed tree of it are never held in memory alongside the tasks.
+     *
+     * @throws RuntimeException if the file cannot be read or is not a valid task array
+     */
+    @Override
+    public void forEachTask(Consumer<Task> consumer) {
         if (!Files.exists(filePath)) {
             logger.info("No existing task file found at {}, starting fresh", filePath);
-            return new ArrayList<>();
+            return;
         }
 
-        try {
-            String json = Files.readString(filePath);
-            if (json.trim().isEmpty()) {
+        try (JsonReader reader = new JsonReader(openReader())) {
+            if (isEmptyDocument(reader)) {
                 logger.info("Task file is empty, starting fresh");
-                return new ArrayList<>();
+                return;
             }
 
-            Task[] loaded = gson.fromJson(json, Task[].class);
-            logger.info("Loaded {} tasks from {}", loaded.length, filePath);
-            return new ArrayList<>(Arrays.asList(loaded));
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Task task = taskAdapter.read(reader);
+                if (task != null) {
+                    consumer.accept(task);
+                    count++;
+                }
+            }
+            reader.endArray();
+            logger.info("Loaded {} tasks from {}", count, filePath);
         } catch (IOException e) {
             logger.error("Failed to read tasks from {}: {}", filePath, e.getMessage());
-            return new ArrayList<>();
-        } catch (Exception e) {
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
             logger.error("Failed to parse tasks file {}: {}", filePath, e.getMessage());
-            return new ArrayList<>();
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Custom Gson TypeAdapter for LocalDateTime serialization.
+     * Opens the task file for reading, inflating it if it starts with the gzip magic bytes.
      */
-    private static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
-        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-
-        @Override
-        public void write(JsonWriter out, LocalDateTime value) throws IOException {
-            out.value(value.format(FORMATTER));
+    private BufferedReader openReader() throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(filePath), STREAM_BUFFER_SIZE);
+        try {
+            if (isGzip(in)) {
+                in = new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
         }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE);
+    }
 
-        @Override
-        public LocalDateTime read(JsonReader in) throws IOException {
-            return LocalDateTime.parse(in.nextString(), FORMATTER);
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first >= 0 && second >= 0 && (first | (second << 8)) == GZIPInputStream.GZIP_MAGIC;
+    }
+
+    private static boolean isEmptyDocument(JsonReader reader) throws IOException {
+        try {
+            return reader.peek() == JsonToken.END_DOCUMENT;
+        } catch (EOFException e) {
+            return true;
         }
     }
+
+    /**
+     * Saves that share one durable write.
+     */
+    private static class CommitBatch {
+        private List<Task> tasks;
+        private int saves;
+        private boolean done;
+        private RuntimeException failure;
+    }
 }
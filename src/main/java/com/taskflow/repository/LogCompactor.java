@@ -0,0 +1,71 @@
+package com.taskflow.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically compacts a LogTaskRepository on a background thread.
+ * A compaction runs only once the log written since the last snapshot has grown
+ * past a size threshold, so an idle store is left alone.
+ */
+public class LogCompactor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogCompactor.class);
+
+    private final LogTaskRepository repository;
+    private final long minUncompactedBytes;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts compacting the repository in the background.
+     *
+     * @param repository          the log repository to compact
+     * @param interval            how often to check whether compaction is due
+     * @param minUncompactedBytes log size since the last snapshot that triggers a compaction
+     */
+    public LogCompactor(LogTaskRepository repository, Duration interval, long minUncompactedBytes) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Compaction interval must be positive");
+        }
+        this.repository = repository;
+        this.minUncompactedBytes = minUncompactedBytes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "taskflow-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::compactIfDue, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Log compaction scheduled every {} ms (threshold: {} bytes)", intervalMillis, minUncompactedBytes);
+    }
+
+    private void compactIfDue() {
+        try {
+            if (repository.uncompactedBytes() >= minUncompactedBytes) {
+                repository.compact();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Log compaction failed, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops scheduling compactions and waits for a running one to finish.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Log compaction did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskflow.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * File layout of a compacted task log. Next to the active log file {@code <log>}
+ * live sealed segments {@code <log>.<seq>} and snapshots {@code <log>.snapshot.<seq>},
+ * where a snapshot holds every live task as of the end of segment {@code seq}.
+ * Sequence numbers only grow, so the state of the store is the latest snapshot,
+ * then the sealed segments after it, then the active file.
+ */
+class LogSegments {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogSegments.class);
+
+    private final Path activePath;
+    private final Path directory;
+    private final String baseName;
+    private final Pattern segmentPattern;
+    private final Pattern snapshotPattern;
+
+    LogSegments(Path activePath) {
+        this.activePath = activePath;
+        this.directory = activePath.toAbsolutePath().getParent();
+        this.baseName = activePath.getFileName().toString();
+        this.segmentPattern = Pattern.compile(Pattern.quote(baseName) + "\\.(\\d+)");
+        this.snapshotPattern = Pattern.compile(Pattern.quote(baseName) + "\\.snapshot\\.(\\d+)");
+    }
+
+    Path activePath() {
+        return activePath;
+    }
+
+    Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s.%010d", baseName, sequence));
+    }
+
+    Path snapshotPath(long sequence) {
+        return directory.resolve(String.format("%s.snapshot.%010d", baseName, sequence));
+    }
+
+    /**
+     * Lists the files currently on disk.
+     */
+    Layout scan() {
+        List<Long> segments = new ArrayList<>();
+        List<Long> snapshots = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(path -> path.getFileName().toString()).forEach(name -> {
+                    Matcher segment = segmentPattern.matcher(name);
+                    Matcher snapshot = snapshotPattern.matcher(name);
+                    if (segment.matches()) {
+                        segments.add(Long.parseLong(segment.group(1)));
+                    } else if (snapshot.matches()) {
+                        snapshots.add(Long.parseLong(snapshot.group(1)));
+                    }
+                });
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to list task log segments: " + e.getMessage(), e);
+            }
+        }
+        segments.sort(null);
+        snapshots.sort(null);
+        return new Layout(segments, snapshots);
+    }
+
+    /**
+     * Deletes segments and snapshots made redundant by the snapshot at {@code sequence}.
+     */
+    void deleteCoveredBy(Layout layout, long sequence) {
+        for (long segment : layout.segments()) {
+            if (segment <= sequence) {
+                delete(segmentPath(segment));
+            }
+        }
+        for (long snapshot : layout.snapshots()) {
+            if (snapshot < sequence) {
+                delete(snapshotPath(snapshot));
+            }
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete obsolete log file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Sequence numbers of the sealed segments and snapshots on disk, ascending.
+     */
+    record Layout(List<Long> segments, List<Long> snapshots) {
+
+        /**
+         * Sequence covered by the latest snapshot, or 0 if there is none.
+         */
+        long snapshotSequence() {
+            return snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+        }
+
+        long lastSequence() {
+            long lastSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+            return Math.max(lastSegment, snapshotSequence());
+        }
+
+        /**
+         * Sealed segments not yet covered by the latest snapshot, in replay order.
+         */
+        List<Long> segmentsAfterSnapshot() {
+            long covered = snapshotSequence();
+            return segments.stream().filter(segment -> segment > covered).toList();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.taskflow.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Append-only log implementation of TaskRepository.
+ * Instead of rewriting the whole store, each save appends one compact JSON line per
+ * added, changed or removed task. Loading replays the log to rebuild the current state.
+ *
+ * <p>{@link #compact()} (usually driven by a {@link LogCompactor}) folds the log into a
+ * snapshot of the live tasks, so loading reads that snapshot and replays only the
+ * records written after it. See {@link LogSegments} for the file layout.
+ */
+public class LogTaskRepository implements TaskRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTaskRepository.class);
+
+    private static final String OP_PUT = "put";
+    private static final String OP_DELETE = "delete";
+
+    private final Path logPath;
+    private final Gson gson;
+
+    /**
+     * Last state written to the log for each live task, used to work out which
+     * records a save actually has to append.
+     */
+    private final Map<Integer, PersistedState> persisted = new HashMap<>();
+    private boolean replayed;
+
+    private final LogSegments segments;
+    private final Object compactionLock = new Object();
+
+    public LogTaskRepository(String logPath) {
+        this.logPath = Path.of(logPath);
+        this.segments = new LogSegments(this.logPath);
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
+                .create();
+        logger.info("LogTaskRepository initialized with file: {}", logPath);
+    }
+
+    @Override
+    public synchronized void saveAll(List<Task> tasks) {
+        if (!replayed) {
+            replay();
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        Set<Integer> live = new HashSet<>();
+        for (Task task : tasks) {
+            live.add(task.getId());
+            PersistedState previous = persisted.get(task.getId());
+            if (previous == null || !previous.matches(task)) {
+                records.add(LogRecord.put(task));
+            }
+        }
+        for (Integer id : persisted.keySet()) {
+            if (!live.contains(id)) {
+                records.add(LogRecord.delete(id));
+            }
+        }
+
+        append(records);
+    }
+
+    /**
+     * Appends one record per change without looking at the rest of the store.
+     */
+    @Override
+    public synchronized void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        if (!replayed) {
+            replay();
+        }
+
+        List<LogRecord> records = new ArrayList<>(upserted.size() + deletedIds.size());
+        for (Integer id : deletedIds) {
+            records.add(LogRecord.delete(id));
+        }
+        for (Task task : upserted) {
+            records.add(LogRecord.put(task));
+        }
+        append(records);
+    }
+
+    @Override
+    public synchronized List<Task> loadAll() {
+        return new ArrayList<>(replay().values());
+    }
+
+    /**
+     * Appends the given records to the log and records them as persisted.
+     */
+    private void append(List<LogRecord> records) {
+        if (records.isEmpty()) {
+            logger.debug("No task changes to append to {}", logPath);
+            return;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (LogRecord record : records) {
+                writer.write(gson.toJson(record));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            logger.error("Failed to append to task log {}: {}", logPath, e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+
+        for (LogRecord record : records) {
+            if (OP_PUT.equals(record.op)) {
+                persisted.put(record.task.getId(), PersistedState.of(record.task));
+            } else {
+                persisted.remove(record.id);
+            }
+        }
+        logger.info("Appended {} record(s) to {}", records.size(), logPath);
+    }
+
+    /**
+     * Folds the log into a snapshot in the background of ongoing writes. The active
+     * file is sealed as a new segment under the repository lock, which only takes a
+     * rename; the snapshot is then built from the previous snapshot and the sealed
+     * segments while new changes keep appending to a fresh active file. Finally the
+     * segments and older snapshots it covers are deleted.
+     *
+     * @return true if a new snapshot was written
+     */
+    public boolean compact() {
+        synchronized (compactionLock) {
+            long sealed;
+            synchronized (this) {
+                if (!replayed) {
+                    replay();
+                }
+                sealed = sealActiveSegment();
+            }
+
+            LogSegments.Layout layout = segments.scan();
+            List<Long> pending = layout.segmentsAfterSnapshot();
+            if (pending.isEmpty()) {
+                return false;
+            }
+            long covered = pending.get(pending.size() - 1);
+
+            Map<Integer, Task> tasks = new LinkedHashMap<>();
+            loadSnapshot(layout, tasks);
+            for (long segment : pending) {
+                replaySegment(segments.segmentPath(segment), tasks);
+            }
+            new JsonTaskRepository(segments.snapshotPath(covered).toString(), true, 0)
+                    .saveAll(new ArrayList<>(tasks.values()));
+
+            synchronized (this) {
+                segments.deleteCoveredBy(segments.scan(), covered);
+            }
+            logger.info("Compacted task log {} into snapshot {} ({} live tasks, sealed segment {})",
+                    logPath, covered, tasks.size(), sealed);
+            return true;
+        }
+    }
+
+    /**
+     * Bytes of log written since the latest snapshot, i.e. what a restart would replay
+     * on top of it.
+     */
+    public synchronized long uncompactedBytes() {
+        long total = 0;
+        List<Path> files = new ArrayList<>();
+        for (long segment : segments.scan().segmentsAfterSnapshot()) {
+            files.add(segments.segmentPath(segment));
+        }
+        files.add(logPath);
+        for (Path file : files) {
+            try {
+                total += Files.exists(file) ? Files.size(file) : 0;
+            } catch (IOException e) {
+                logger.warn("Failed to size task log file {}: {}", file, e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Renames a non-empty active file to the next segment number.
+     *
+     * @return the sequence of the newly sealed segment, or 0 if there was nothing to seal
+     */
+    private long sealActiveSegment() {
+        try {
+            if (!Files.exists(logPath) || Files.size(logPath) == 0) {
+                return 0;
+            }
+            long sequence = segments.scan().lastSequence() + 1;
+            Files.move(logPath, segments.segmentPath(sequence), StandardCopyOption.ATOMIC_MOVE);
+            return sequence;
+        } catch (IOException e) {
+            logger.error("Failed to seal task log {}: {}", logPath, e.getMessage());
+            throw new RuntimeException("Failed to compact tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the current task state from the latest snapshot, the sealed segments
+     * after it and the active file. A malformed last line in the active file is treated
+     * as a torn write from a crash and cut off, so later appends are not hidden behind
+     * it; malformed lines before it are skipped but left in place.
+     */
+    private Map<Integer, Task> replay() {
+        Map<Integer, Task> tasks = new LinkedHashMap<>();
+        persisted.clear();
+        replayed = true;
+
+        LogSegments.Layout layout = segments.scan();
+        segments.deleteCoveredBy(layout, layout.snapshotSequence());
+        loadSnapshot(layout, tasks);
+        for (long segment : layout.segmentsAfterSnapshot()) {
+            replaySegment(segments.segmentPath(segment), tasks);
+        }
+
+        if (Files.exists(logPath)) {
+            long validLength = replaySegment(logPath, tasks);
+            if (validLength >= 0) {
+                repairTail(validLength);
+            }
+        } else if (tasks.isEmpty()) {
+            logger.info("No existing task log found at {}, starting fresh", logPath);
+        }
+
+        tasks.values().forEach(task -> persisted.put(task.getId(), PersistedState.of(task)));
+        logger.info("Replayed {}, {} live tasks", logPath, tasks.size());
+        return tasks;
+    }
+
+    private void loadSnapshot(LogSegments.Layout layout, Map<Integer, Task> tasks) {
+        long snapshot = layout.snapshotSequence();
+        if (snapshot > 0) {
+            new JsonTaskRepository(segments.snapshotPath(snapshot).toString())
+                    .forEachTask(task -> tasks.put(task.getId(), task));
+        }
+    }
+
+    /**
+     * Applies the records of one log file to the given state. Lines are split on raw
+     * bytes and decoded one at a time, so a multi-byte character cut off by a crash only
+     * invalidates its own line. A malformed final line without a line break is a torn
+     * write and ends the valid prefix; a malformed line anywhere else is logged as an
+     * error and skipped, so the records after it still load.
+     *
+     * @return the byte length of the valid prefix, or -1 if the file could not be read
+     */
+    private long replaySegment(Path file, Map<Integer, Task> tasks) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        int lineNumber = 0;
+        long validLength = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int next;
+            do {
+                next = in.read();
+                if (next != '\n' && next != -1) {
+                    line.write(next);
+                    continue;
+                }
+                if (next == -1 && line.size() == 0) {
+                    break;
+                }
+                lineNumber++;
+                try {
+                    applyRecord(decoder.decode(ByteBuffer.wrap(line.toByteArray())).toString(), tasks);
+                } catch (CharacterCodingException | RuntimeException e) {
+                    if (next == -1) {
+                        logger.warn("Ignoring torn last line {} of task log {}: {}", lineNumber, file, describe(e));
+                        break;
+                    }
+                    logger.error("Skipping corrupt line {} of task log {}: {}", lineNumber, file, describe(e));
+                }
+                validLength += line.size() + 1;
+                line.reset();
+            } while (next != -1);
+        } catch (IOException e) {
+            logger.error("Failed to read task log {}: {}", file, e.getMessage());
+            return -1;
+        }
+        return validLength;
+    }
+
+    private static String describe(Exception e) {
+        return e instanceof CharacterCodingException ? "malformed UTF-8" : e.getMessage();
+    }
+
+    private void applyRecord(String line, Map<Integer, Task> tasks) {
+        if (line.isBlank()) {
+            return;
+        }
+        LogRecord record = gson.fromJson(line, LogRecord.class);
+        if (OP_PUT.equals(record.op) && record.task != null) {
+            tasks.put(record.task.getId(), record.task);
+        } else if (OP_DELETE.equals(record.op) && record.id != null) {
+            tasks.remove(record.id);
+        } else {
+            throw new JsonParseException("Unknown log record: " + line);
+        }
+    }
+
+    /**
+     * Makes the log end exactly after its last record: a torn tail is truncated
+     * and a final record missing its line break gets one.
+     */
+    private void repairTail(long validLength) {
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (validLength < size) {
+                channel.truncate(validLength);
+                logger.warn("Truncated torn tail of task log {} from {} to {} bytes", logPath, size, validLength);
+            } else if (validLength > size) {
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}), size);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to repair tail of task log {}: {}", logPath, e.getMessage());
+        }
+    }
+
+    /**
+     * One line of the log: either the full state of a task or the removal of a task ID.
+     */
+    private static class LogRecord {
+        private String op;
+        private Task task;
+        private Integer id;
+
+        static LogRecord put(Task task) {
+            LogRecord record = new LogRecord();
+            record.op = OP_PUT;
+            record.task = task;
+            return record;
+        }
+
+        static LogRecord delete(int id) {
+            LogRecord record = new LogRecord();
+            record.op = OP_DELETE;
+            record.id = id;
+            return record;
+        }
+    }
+
+    /**
+     * The mutable fields of a task as last written to the log.
+     */
+    private record PersistedState(String title, String description, TaskStatus status) {
+
+        static PersistedState of(Task task) {
+            return new PersistedState(task.getTitle(), task.getDescription(), task.getStatus());
+        }
+
+        boolean matches(Task task) {
+            return status == task.getStatus()
+                    && Objects.equals(title, task.getTitle())
+                    && Objects.equals(description, task.getDescription());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A TaskRepository that can answer queries itself, so callers can look tasks up
+ * without loading the whole store into memory.
+ */
+public interface QueryableTaskRepository extends TaskRepository {
+
+    /**
+     * Finds a stored task by its ID.
+     *
+     * @param id the task ID
+     * @return Optional containing the task if stored
+     */
+    Optional<Task> findById(int id);
+
+    /**
+     * Finds all stored tasks with the given status, in stored order.
+     *
+     * @param status the status to filter by
+     * @return list of matching tasks
+     */
+    List<Task> findByStatus(TaskStatus status);
+
+    /**
+     * Finds up to {@code limit} stored tasks with an ID above {@code afterId}, in ID order.
+     *
+     * @param afterId the ID to continue after, or 0 to start from the first task
+     * @param limit   the maximum number of tasks to return
+     * @param status  only return tasks with this status, or null for any status
+     * @return list of matching tasks
+     */
+    List<Task> findPage(int afterId, int limit, TaskStatus status);
+
+    /**
+     * Passes the stored tasks with an ID above {@code afterId} to the visitor in ID
+     * order until it returns false. Tasks are read a page at a time, so a visitor that
+     * stops early leaves the rest of the store unread.
+     *
+     * @param afterId the ID to continue after, or 0 to start from the first task
+     * @param visitor receives each task, and returns false to stop
+     */
+    void scan(int afterId, Predicate<Task> visitor);
+
+    /**
+     * Finds the stored tasks created at or after {@code from} and before {@code to},
+     * oldest first. A null bound leaves that side of the range open.
+     *
+     * @param from the earliest creation time to return, or null
+     * @param to   the creation time to stop before, or null
+     * @return list of matching tasks
+     */
+    List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the number of stored tasks with the given status.
+     *
+     * @param status the status to count
+     * @return task count for the status
+     */
+    int countByStatus(TaskStatus status);
+
+    /**
+     * Returns the number of stored tasks.
+     *
+     * @return task count
+     */
+    int count();
+
+    /**
+     * Returns the highest stored task ID.
+     *
+     * @return the highest ID, or 0 if the store is empty
+     */
+    int maxId();
+}
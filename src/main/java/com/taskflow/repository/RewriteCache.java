@@ -0,0 +1,57 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The last task list a whole-file repository saved, kept so incremental changes can
+ * be turned into a full rewrite without reading the file back first. Plain loads leave
+ * it empty; the first incremental change after them reads the file once to fill it.
+ * Holds read-only copies, so the list handed to a writer (possibly the leader of a
+ * group commit on another thread) cannot change while it is being written.
+ */
+class RewriteCache {
+
+    private Map<Integer, Task> tasks;
+
+    boolean isLoaded() {
+        return tasks != null;
+    }
+
+    /**
+     * Replaces the cached state with the given tasks, in order.
+     *
+     * @return the full task list to write
+     */
+    List<Task> replaceWith(Collection<Task> current) {
+        Map<Integer, Task> replacement = new LinkedHashMap<>();
+        for (Task task : current) {
+            replacement.put(task.getId(), task.readOnlyCopy());
+        }
+        tasks = replacement;
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * Forgets the cached state, e.g. after a failed save.
+     */
+    void invalidate() {
+        tasks = null;
+    }
+
+    /**
+     * Applies the changes to the cached state.
+     *
+     * @return the full task list to write
+     */
+    List<Task> apply(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        deletedIds.forEach(tasks::remove);
+        upserted.forEach(task -> tasks.put(task.getId(), task.readOnlyCopy()));
+        return new ArrayList<>(tasks.values());
+    }
+}
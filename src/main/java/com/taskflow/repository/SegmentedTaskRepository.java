@@ -0,0 +1,314 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Segmented implementation of TaskRepository.
+ * Tasks are partitioned by ID range into JSON files in a directory, one file per
+ * {@code segmentSize} consecutive IDs ({@code segment-000000.json} holds IDs 1 to
+ * {@code segmentSize}, and so on). Segments are loaded in parallel on a fork-join
+ * pool, and a save only rewrites the segments whose tasks actually changed.
+ *
+ * <p>Because IDs are allocated in increasing order, concatenating the segments in
+ * file order yields the tasks in creation order, and the highest ID is always in
+ * the last non-empty segment.
+ */
+public class SegmentedTaskRepository implements TaskRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedTaskRepository.class);
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(-?\\d+)\\.json");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ForkJoinPool pool;
+
+    /**
+     * Tasks of each segment as last loaded or written, keyed by segment index.
+     * Null until the directory has been loaded.
+     */
+    private Map<Integer, Segment> segments;
+
+    public SegmentedTaskRepository(String directory, int segmentSize) {
+        this(directory, segmentSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param directory   directory holding the segment files
+     * @param segmentSize number of consecutive task IDs per segment file
+     * @param pool        pool used to load segments in parallel
+     */
+    public SegmentedTaskRepository(String directory, int segmentSize, ForkJoinPool pool) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be at least 1");
+        }
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.pool = pool;
+        logger.info("SegmentedTaskRepository initialized in {} (segment size: {})", directory, segmentSize);
+    }
+
+    @Override
+    public synchronized void saveAll(List<Task> tasks) {
+        ensureLoaded();
+        Map<Integer, List<Task>> grouped = new TreeMap<>();
+        for (Task task : tasks) {
+            grouped.computeIfAbsent(segmentOf(task.getId()), index -> new ArrayList<>()).add(task);
+        }
+
+        Set<Integer> indices = new TreeSet<>(segments.keySet());
+        indices.addAll(grouped.keySet());
+        int rewritten = 0;
+        try {
+            for (int index : indices) {
+                Segment segment = segments.computeIfAbsent(index, Segment::new);
+                List<Task> segmentTasks = grouped.getOrDefault(index, List.of());
+                if (!segment.matches(segmentTasks)) {
+                    segment.replaceWith(segmentTasks);
+                    write(segment);
+                    rewritten++;
+                }
+            }
+        } catch (RuntimeException e) {
+            invalidate();
+            throw e;
+        }
+        logger.info("Saved {} tasks to {}, rewrote {} of {} segment(s)", tasks.size(), directory,
+                rewritten, indices.size());
+    }
+
+    /**
+     * Groups the changes by segment and rewrites only the segments they touch.
+     */
+    @Override
+    public synchronized void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        if (upserted.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        ensureLoaded();
+
+        Map<Integer, Segment> touched = new TreeMap<>();
+        for (Integer id : deletedIds) {
+            Segment segment = segments.computeIfAbsent(segmentOf(id), Segment::new);
+            segment.tasks.remove(id);
+            touched.put(segment.index, segment);
+        }
+        for (Task task : upserted) {
+            Segment segment = segments.computeIfAbsent(segmentOf(task.getId()), Segment::new);
+            segment.tasks.put(task.getId(), task.readOnlyCopy());
+            touched.put(segment.index, segment);
+        }
+        try {
+            for (Segment segment : touched.values()) {
+                write(segment);
+            }
+        } catch (RuntimeException e) {
+            invalidate();
+            throw e;
+        }
+        logger.debug("Applied {} change(s) to {} segment(s)", upserted.size() + deletedIds.size(), touched.size());
+    }
+
+    @Override
+    public List<Task> loadAll() {
+        List<Task> loaded = new ArrayList<>();
+        try {
+            forEachTask(loaded::add);
+            return loaded;
+        } catch (RuntimeException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads every segment in parallel, then hands the tasks over segment by segment
+     * in ID-range order.
+     *
+     * @throws RuntimeException if a segment cannot be read
+     */
+    @Override
+    public void forEachTask(Consumer<Task> consumer) {
+        List<LoadedSegment> loaded = readSegments();
+        synchronized (this) {
+            if (segments == null) {
+                segments = byIndex(loaded);
+            }
+        }
+        int count = 0;
+        for (LoadedSegment segment : loaded) {
+            segment.tasks().forEach(consumer);
+            count += segment.tasks().size();
+        }
+        logger.info("Loaded {} tasks from {} segment(s) in {}", count, loaded.size(), directory);
+    }
+
+    int segmentOf(int id) {
+        return Math.floorDiv(id - 1, segmentSize);
+    }
+
+    private void ensureLoaded() {
+        if (segments == null) {
+            segments = byIndex(readSegments());
+        }
+    }
+
+    private List<LoadedSegment> readSegments() {
+        List<Integer> indices = listSegmentIndices();
+        return pool.submit(() -> indices.parallelStream()
+                .map(this::readSegment)
+                .toList()).join();
+    }
+
+    private static Map<Integer, Segment> byIndex(List<LoadedSegment> loaded) {
+        Map<Integer, Segment> result = new TreeMap<>();
+        for (LoadedSegment segment : loaded) {
+            result.put(segment.segment().index, segment.segment());
+        }
+        return result;
+    }
+
+    private List<Integer> listSegmentIndices() {
+        if (!Files.isDirectory(directory)) {
+            logger.info("No existing segment directory found at {}, starting fresh", directory);
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> SEGMENT_FILE.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Integer.parseInt(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            logger.error("Failed to list segments in {}: {}", directory, e.getMessage());
+            throw new RuntimeException("Failed to load tasks: " + e.getMessage(), e);
+        }
+    }
+
+    private LoadedSegment readSegment(int index) {
+        Segment segment = new Segment(index);
+        List<Task> tasks = new ArrayList<>();
+        new JsonTaskRepository(segmentPath(index).toString()).forEachTask(tasks::add);
+        segment.replaceWith(tasks);
+        segment.markWritten();
+        return new LoadedSegment(segment, tasks);
+    }
+
+    /**
+     * Writes one segment durably, or removes its file once it has no tasks left.
+     *
+     * @throws RuntimeException if the segment cannot be written
+     */
+    private void write(Segment segment) {
+        Path path = segmentPath(segment.index);
+        try {
+            if (segment.tasks.isEmpty()) {
+                Files.deleteIfExists(path);
+                segments.remove(segment.index);
+                return;
+            }
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            logger.error("Failed to update segment {}: {}", path, e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+        new JsonTaskRepository(path.toString(), true, 0).saveAll(new ArrayList<>(segment.tasks.values()));
+        segment.markWritten();
+    }
+
+    /**
+     * Drops the in-memory segments after a failed save, once the save has stopped
+     * using them: they no longer match the files, so they are reloaded before the
+     * next save.
+     */
+    private void invalidate() {
+        segments = null;
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("segment-%06d.json", index));
+    }
+
+    /**
+     * A segment as read from its file, with the tasks read, which go to the caller,
+     * apart from the read-only copies the segment keeps.
+     */
+    private record LoadedSegment(Segment segment, List<Task> tasks) {
+    }
+
+    /**
+     * One ID range: read-only copies of its tasks in order, plus the field values last
+     * written to its file so an unchanged segment can be recognised without serializing
+     * it. Holding copies means a caller changing its own tasks never changes a segment.
+     */
+    private static class Segment {
+        private final int index;
+        private final Map<Integer, Task> tasks = new LinkedHashMap<>();
+        private Map<Integer, Row> written = new HashMap<>();
+
+        Segment(int index) {
+            this.index = index;
+        }
+
+        void replaceWith(List<Task> replacement) {
+            tasks.clear();
+            replacement.forEach(task -> tasks.put(task.getId(), task.readOnlyCopy()));
+        }
+
+        void markWritten() {
+            Map<Integer, Row> rows = new HashMap<>();
+            tasks.values().forEach(task -> rows.put(task.getId(), Row.of(task)));
+            written = rows;
+        }
+
+        boolean matches(List<Task> candidate) {
+            if (candidate.size() != written.size()) {
+                return false;
+            }
+            for (Task task : candidate) {
+                Row row = written.get(task.getId());
+                if (row == null || !row.matches(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The mutable fields of a task as last written.
+     */
+    private record Row(String title, String description, TaskStatus status) {
+
+        static Row of(Task task) {
+            return new Row(task.getTitle(), task.getDescription(), task.getStatus());
+        }
+
+        boolean matches(Task task) {
+            return status == task.getStatus()
+                    && Objects.equals(title, task.getTitle())
+                    && Objects.equals(description, task.getDescription());
+        }
+    }
+}
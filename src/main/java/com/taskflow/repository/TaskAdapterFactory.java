@@ -0,0 +1,49 @@
+package com.taskflow.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.taskflow.model.Task;
+
+import java.io.IOException;
+
+/**
+ * Custom Gson TypeAdapterFactory for Task serialization.
+ * Gson writes fields, and a task with a lazy description holds an empty one, so such
+ * a task is written with the description read through {@link Task#getDescription()}.
+ * Shared by the Gson-based repositories so no lazy task is ever saved without its text.
+ */
+class TaskAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!Task.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        TypeAdapter<JsonElement> elements = gson.getAdapter(JsonElement.class);
+        return (TypeAdapter<T>) new TypeAdapter<Task>() {
+            @Override
+            public void write(JsonWriter out, Task task) throws IOException {
+                if (task == null || !task.hasLazyDescription()) {
+                    ((TypeAdapter<Task>) delegate).write(out, task);
+                    return;
+                }
+                JsonObject json = ((TypeAdapter<Task>) delegate).toJsonTree(task).getAsJsonObject();
+                json.addProperty("description", task.getDescription());
+                elements.write(out, json);
+            }
+
+            @Override
+            public Task read(JsonReader in) throws IOException {
+                return (Task) delegate.read(in);
+            }
+        };
+    }
+}
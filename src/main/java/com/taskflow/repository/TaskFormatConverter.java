@@ -0,0 +1,73 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts task stores between the JSON layout and the binary layout.
+ *
+ * <p>Usage: {@code TaskFormatConverter json-to-binary tasks.json tasks.bin}
+ * or {@code TaskFormatConverter binary-to-json tasks.bin tasks.json}.
+ */
+public final class TaskFormatConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskFormatConverter.class);
+
+    private TaskFormatConverter() {
+    }
+
+    /**
+     * Converts a JSON task file into the binary format.
+     *
+     * @return the number of tasks converted
+     */
+    public static int jsonToBinary(String jsonPath, String binaryPath) {
+        return copy(new JsonTaskRepository(jsonPath), new BinaryTaskRepository(binaryPath));
+    }
+
+    /**
+     * Converts a binary task file into the JSON format.
+     *
+     * @return the number of tasks converted
+     */
+    public static int binaryToJson(String binaryPath, String jsonPath) {
+        return copy(new BinaryTaskRepository(binaryPath), new JsonTaskRepository(jsonPath));
+    }
+
+    /**
+     * Copies every task from one repository into another, replacing its contents.
+     * The source is streamed, so only the task objects are held in memory.
+     *
+     * @return the number of tasks copied
+     */
+    public static int copy(TaskRepository source, TaskRepository target) {
+        List<Task> tasks = new ArrayList<>();
+        source.forEachTask(tasks::add);
+        target.saveAll(tasks);
+        logger.info("Converted {} tasks", tasks.size());
+        return tasks.size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: TaskFormatConverter <json-to-binary|binary-to-json> <source> <target>");
+            return;
+        }
+
+        int count = switch (args[0].toLowerCase()) {
+            case "json-to-binary" -> jsonToBinary(args[1], args[2]);
+            case "binary-to-json" -> binaryToJson(args[1], args[2]);
+            default -> {
+                System.out.println("Unknown conversion: " + args[0]);
+                yield -1;
+            }
+        };
+        if (count >= 0) {
+            System.out.printf("Converted %d task(s) from %s to %s%n", count, args[1], args[2]);
+        }
+    }
+}
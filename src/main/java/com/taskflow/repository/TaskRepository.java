@@ -2,7 +2,12 @@ package com.taskflow.repository;
 
 import com.taskflow.model.Task;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface for task persistence operations.
@@ -22,4 +27,76 @@ public interface TaskRepository {
      * @return list of loaded tasks, or empty list if none exist
      */
     List<Task> loadAll();
+
+    /**
+     * Loads tasks from persistent storage one at a time, handing each to the given
+     * consumer in stored order. Implementations that can read incrementally override
+     * this so callers never hold more than the task objects themselves.
+     *
+     * @param consumer receives each loaded task
+     */
+    default void forEachTask(Consumer<Task> consumer) {
+        loadAll().forEach(consumer);
+    }
+
+    /**
+     * Inserts a task, or replaces the stored task with the same ID.
+     *
+     * @param task the task to store
+     */
+    default void upsert(Task task) {
+        applyChanges(List.of(task), List.of());
+    }
+
+    /**
+     * Removes the task with the given ID if it is stored.
+     *
+     * @param id the task ID
+     */
+    default void delete(int id) {
+        applyChanges(List.of(), List.of(id));
+    }
+
+    /**
+     * Inserts or replaces all given tasks in one operation.
+     *
+     * @param tasks the tasks to store
+     */
+    default void upsertAll(Collection<Task> tasks) {
+        applyChanges(tasks, List.of());
+    }
+
+    /**
+     * Removes all tasks with the given IDs in one operation.
+     *
+     * @param ids the task IDs
+     */
+    default void deleteAll(Collection<Integer> ids) {
+        applyChanges(List.of(), ids);
+    }
+
+    /**
+     * Applies a set of changes in one operation. New tasks are appended after the
+     * stored ones; replaced tasks keep their position. The two collections are
+     * expected to refer to disjoint IDs.
+     *
+     * <p>The default implementation loads everything, applies the changes and saves
+     * everything back. Backends that can write single tasks override it so the cost
+     * of a change does not depend on the size of the store.
+     *
+     * @param upserted   tasks to insert or replace
+     * @param deletedIds IDs of tasks to remove
+     */
+    default void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+        if (upserted.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, Task> tasks = new LinkedHashMap<>();
+        for (Task task : loadAll()) {
+            tasks.put(task.getId(), task);
+        }
+        deletedIds.forEach(tasks::remove);
+        upserted.forEach(task -> tasks.put(task.getId(), task));
+        saveAll(new ArrayList<>(tasks.values()));
+    }
 }
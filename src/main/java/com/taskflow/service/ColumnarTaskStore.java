@@ -0,0 +1,504 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * TaskStore that keeps tasks as columns of primitive arrays instead of objects.
+ *
+ * <p>Row {@code r} of the store is {@code ids[r]}, the status ordinal in
+ * {@code statuses[r]}, the creation time as seconds since the epoch (UTC) in
+ * {@code createdSeconds[r]} plus {@code createdNanos[r]}, which covers every
+ * LocalDateTime, and title and description as UTF-8 bytes in one shared heap,
+ * found through {@code textOffsets[r]} and the two lengths. A task costs about 29 bytes
+ * plus its text, with no object headers or pointers. Task objects are built only when
+ * a caller asks for one, and describe the row at that moment.
+ *
+ * <p>Rows are kept in ID order, as in {@link InMemoryTaskStore}, so ID lookups go
+ * through an {@link IntIndex} and pages and ID ranges through binary search. Filters,
+ * status lists, creation-time ranges and search run as loops over the columns, and a
+ * task is only built for a row that matches. Removed rows and replaced text are left
+ * in place and squeezed out once they make up half of their array.
+ *
+ * <p>There are no status, text or creation-time indexes, and snapshots are built by
+ * copying the rows out: this store trades those for memory.
+ */
+class ColumnarTaskStore implements TaskStore, QueryPlanner.Source {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final byte REMOVED = -1;
+    private static final int INITIAL_ROWS = 16;
+    private static final int INITIAL_HEAP = 1024;
+    /** Largest array length the JVM reliably allocates. */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private int[] ids = new int[INITIAL_ROWS];
+    private byte[] statuses = new byte[INITIAL_ROWS];
+    private long[] createdSeconds = new long[INITIAL_ROWS];
+    private int[] createdNanos = new int[INITIAL_ROWS];
+    private int[] textOffsets = new int[INITIAL_ROWS];
+    private int[] titleLengths = new int[INITIAL_ROWS];
+    private int[] descriptionLengths = new int[INITIAL_ROWS];
+    private int rows;
+    private int removedRows;
+
+    private byte[] heap = new byte[INITIAL_HEAP];
+    private int heapSize;
+    private int heapGarbage;
+
+    private final IntIndex positions = new IntIndex();
+    private final int[] statusCounts = new int[STATUSES.length];
+    private int maxId;
+    private long version;
+
+    @Override
+    public void add(Task task) {
+        int row = positions.get(task.getId());
+        if (row != IntIndex.MISSING) {
+            statusCounts[statuses[row]]--;
+            heapGarbage += titleLengths[row] + descriptionLengths[row];
+        } else {
+            // Removed rows keep their IDs until compaction, so the ID column stays sorted.
+            row = task.getId() > maxId ? rows : firstRowAfter(task.getId());
+            openRow(row);
+            ids[row] = task.getId();
+            positions.put(task.getId(), row);
+        }
+        statuses[row] = (byte) task.getStatus().ordinal();
+        statusCounts[statuses[row]]++;
+        createdSeconds[row] = task.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+        createdNanos[row] = task.getCreatedAt().getNano();
+        writeText(row, task.getTitle(), task.getDescription());
+        maxId = Math.max(maxId, task.getId());
+        version++;
+    }
+
+    @Override
+    public void setStatus(Task task, TaskStatus status) {
+        int row = positions.get(task.getId());
+        task.setStatus(status);
+        if (row != IntIndex.MISSING) {
+            statusCounts[statuses[row]]--;
+            statuses[row] = (byte) status.ordinal();
+            statusCounts[statuses[row]]++;
+            version++;
+        }
+    }
+
+    @Override
+    public void setText(Task task, String title, String description) {
+        task.setTitle(title);
+        task.setDescription(description);
+        int row = positions.get(task.getId());
+        if (row != IntIndex.MISSING) {
+            heapGarbage += titleLengths[row] + descriptionLengths[row];
+            writeText(row, task.getTitle(), task.getDescription());
+            version++;
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        int row = positions.remove(task.getId());
+        if (row == IntIndex.MISSING) {
+            return;
+        }
+        statusCounts[statuses[row]]--;
+        statuses[row] = REMOVED;
+        heapGarbage += titleLengths[row] + descriptionLengths[row];
+        removedRows++;
+        if (removedRows > rows / 2) {
+            compactRows();
+        }
+        version++;
+    }
+
+    @Override
+    public void applyBatch(Consumer<TaskStore> changes) {
+        changes.accept(this);
+    }
+
+    @Override
+    public Optional<Task> findById(int id) {
+        int row = positions.get(id);
+        return row == IntIndex.MISSING ? Optional.empty() : Optional.of(view(row));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> all = new ArrayList<>(size());
+        scan(task -> all.add(task.readOnlyCopy()));
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Copies every row into a new trie; the cost grows with the store, unlike the
+     * published snapshots of {@link InMemoryTaskStore}.
+     */
+    @Override
+    public TaskSnapshot snapshot() {
+        List<Task> all = new ArrayList<>(size());
+        scan(task -> all.add(task.readOnlyCopy()));
+        return new TaskSnapshot(TaskTrie.of(all), version);
+    }
+
+    @Override
+    public List<Task> findPage(int afterId, int limit, TaskStatus status) {
+        List<Task> page = new ArrayList<>(Math.min(limit, size()));
+        int code = status == null ? REMOVED : status.ordinal();
+        int end = rows;
+        for (int row = firstRowAfter(afterId); row < end && page.size() < limit; row++) {
+            byte rowStatus = statuses[row];
+            if (rowStatus != REMOVED && (status == null || rowStatus == code)) {
+                page.add(view(row));
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        byte code = (byte) status.ordinal();
+        List<Task> matching = new ArrayList<>(statusCounts[code]);
+        byte[] column = statuses;
+        int end = rows;
+        for (int row = 0; row < end; row++) {
+            if (column[row] == code) {
+                matching.add(view(row));
+            }
+        }
+        return matching;
+    }
+
+    @Override
+    public int countByStatus(TaskStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        CreatedRange range = CreatedRange.of(from, to);
+        long[] seconds = createdSeconds;
+        int[] nanos = createdNanos;
+        byte[] rowStatuses = statuses;
+        List<Task> found = new ArrayList<>();
+        int end = rows;
+        for (int row = 0; row < end; row++) {
+            if (range.contains(seconds[row], nanos[row]) && rowStatuses[row] != REMOVED) {
+                found.add(view(row));
+            }
+        }
+        found.sort(TaskQuery.Sort.CREATED_AT.comparator());
+        return found;
+    }
+
+    /**
+     * Ranks like {@link TextIndex}, but from a pass over the rows instead of an index.
+     */
+    @Override
+    public List<Task> search(String query) {
+        Set<String> terms = TextIndex.tokenize(query);
+        Map<Integer, Map<String, Integer>> matches = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            if (statuses[row] == REMOVED) {
+                continue;
+            }
+            Map<String, Integer> frequencies = TextIndex.termFrequencies(title(row), description(row));
+            frequencies.keySet().retainAll(terms);
+            if (!frequencies.isEmpty()) {
+                matches.put(row, frequencies);
+            }
+        }
+        // Rows are in ID order, so ties still break by ID.
+        return TextIndex.rank(matches, size()).stream().map(this::view).toList();
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        return QueryPlanner.execute(query, this);
+    }
+
+    @Override
+    public String explain(TaskQuery query) {
+        return QueryPlanner.explain(query, this);
+    }
+
+    /**
+     * Offers only ID ranges, found by binary search over the ID column.
+     */
+    @Override
+    public QueryPlanner.IndexScan indexScan(TaskFilter condition) {
+        if (condition instanceof TaskFilter.IdBetween(int from, int to)) {
+            int start = from == Integer.MIN_VALUE ? 0 : firstRowAfter(from - 1);
+            int end = Math.max(start, firstRowAfter(to));
+            return new QueryPlanner.IndexScan("ID range (" + condition + ")", end - start, true, () -> {
+                List<Task> range = new ArrayList<>(end - start);
+                for (int row = start; row < end && row < rows; row++) {
+                    if (statuses[row] != REMOVED) {
+                        range.add(view(row));
+                    }
+                }
+                return range;
+            });
+        }
+        return null;
+    }
+
+    @Override
+    public void scan(Predicate<Task> visitor) {
+        int end = rows;
+        for (int row = 0; row < end; row++) {
+            if (statuses[row] != REMOVED && !visitor.test(view(row))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the filter on the columns and builds tasks only for matching rows.
+     */
+    @Override
+    public void scan(TaskFilter filter, Predicate<Task> visitor) {
+        IntPredicate matches = rowFilter(filter);
+        int end = rows;
+        for (int row = 0; row < end; row++) {
+            if (statuses[row] != REMOVED && matches.test(row) && !visitor.test(view(row))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return rows - removedRows;
+    }
+
+    @Override
+    public int maxId() {
+        return maxId;
+    }
+
+    private IntPredicate rowFilter(TaskFilter filter) {
+        return switch (filter) {
+            case TaskFilter.All all -> row -> true;
+            case TaskFilter.StatusIs(TaskStatus status) -> {
+                byte code = (byte) status.ordinal();
+                yield row -> statuses[row] == code;
+            }
+            case TaskFilter.IdBetween(int from, int to) -> row -> ids[row] >= from && ids[row] <= to;
+            case TaskFilter.CreatedBetween(LocalDateTime from, LocalDateTime to) -> {
+                CreatedRange range = CreatedRange.of(from, to);
+                yield row -> range.contains(createdSeconds[row], createdNanos[row]);
+            }
+            case TaskFilter.TextMatches text -> row -> text.test(view(row));
+            case TaskFilter.And(List<TaskFilter> parts) -> {
+                IntPredicate[] checks = parts.stream().map(this::rowFilter).toArray(IntPredicate[]::new);
+                yield row -> {
+                    for (IntPredicate check : checks) {
+                        if (!check.test(row)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            case TaskFilter.Or(List<TaskFilter> parts) -> {
+                IntPredicate[] checks = parts.stream().map(this::rowFilter).toArray(IntPredicate[]::new);
+                yield row -> {
+                    for (IntPredicate check : checks) {
+                        if (check.test(row)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+        };
+    }
+
+    /**
+     * Builds a task from a row.
+     */
+    private Task view(int row) {
+        return new Task(ids[row], title(row), description(row), STATUSES[statuses[row]],
+                createdAt(createdSeconds[row], createdNanos[row]));
+    }
+
+    private String title(int row) {
+        return new String(heap, textOffsets[row], titleLengths[row], StandardCharsets.UTF_8);
+    }
+
+    private String description(int row) {
+        return new String(heap, textOffsets[row] + titleLengths[row], descriptionLengths[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a row's text to the heap, compacting or growing the heap as needed.
+     */
+    private void writeText(int row, String title, String description) {
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description.getBytes(StandardCharsets.UTF_8);
+        int length = titleBytes.length + descriptionBytes.length;
+        if ((long) heapSize + length > heap.length) {
+            if (heapGarbage > heapSize / 2) {
+                compactHeap(row);
+            }
+            if ((long) heapSize + length > heap.length) {
+                heap = Arrays.copyOf(heap, grownLength(heap.length, (long) heapSize + length, "text"));
+            }
+        }
+        System.arraycopy(titleBytes, 0, heap, heapSize, titleBytes.length);
+        System.arraycopy(descriptionBytes, 0, heap, heapSize + titleBytes.length, descriptionBytes.length);
+        textOffsets[row] = heapSize;
+        titleLengths[row] = titleBytes.length;
+        descriptionLengths[row] = descriptionBytes.length;
+        heapSize += length;
+    }
+
+    /**
+     * Copies the text of the live rows into a new heap, dropping replaced and removed
+     * text. The row being rewritten is skipped, since its old text is already garbage.
+     */
+    private void compactHeap(int rewrittenRow) {
+        byte[] compacted = new byte[heap.length];
+        int size = 0;
+        for (int row = 0; row < rows; row++) {
+            if (statuses[row] == REMOVED || row == rewrittenRow) {
+                continue;
+            }
+            int length = titleLengths[row] + descriptionLengths[row];
+            System.arraycopy(heap, textOffsets[row], compacted, size, length);
+            textOffsets[row] = size;
+            size += length;
+        }
+        heap = compacted;
+        heapSize = size;
+        heapGarbage = 0;
+    }
+
+    /**
+     * Moves the live rows down over removed ones and re-points the index.
+     */
+    private void compactRows() {
+        int write = 0;
+        for (int read = 0; read < rows; read++) {
+            if (statuses[read] == REMOVED) {
+                continue;
+            }
+            if (write != read) {
+                ids[write] = ids[read];
+                statuses[write] = statuses[read];
+                createdSeconds[write] = createdSeconds[read];
+                createdNanos[write] = createdNanos[read];
+                textOffsets[write] = textOffsets[read];
+                titleLengths[write] = titleLengths[read];
+                descriptionLengths[write] = descriptionLengths[read];
+                positions.put(ids[write], write);
+            }
+            write++;
+        }
+        rows = write;
+        removedRows = 0;
+    }
+
+    /**
+     * Makes room for a row at the given position, shifting later rows up by one.
+     */
+    private void openRow(int row) {
+        if (rows == ids.length) {
+            int capacity = grownLength(ids.length, rows + 1L, "rows");
+            ids = Arrays.copyOf(ids, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            createdSeconds = Arrays.copyOf(createdSeconds, capacity);
+            createdNanos = Arrays.copyOf(createdNanos, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        }
+        int moved = rows - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(statuses, row, statuses, row + 1, moved);
+            System.arraycopy(createdSeconds, row, createdSeconds, row + 1, moved);
+            System.arraycopy(createdNanos, row, createdNanos, row + 1, moved);
+            System.arraycopy(textOffsets, row, textOffsets, row + 1, moved);
+            System.arraycopy(titleLengths, row, titleLengths, row + 1, moved);
+            System.arraycopy(descriptionLengths, row, descriptionLengths, row + 1, moved);
+            for (int shifted = row + 1; shifted <= rows; shifted++) {
+                if (statuses[shifted] != REMOVED) {
+                    positions.put(ids[shifted], shifted);
+                }
+            }
+        }
+        rows++;
+    }
+
+    /**
+     * Returns the first row with an ID above {@code afterId}, or the row count if none.
+     */
+    private int firstRowAfter(int afterId) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the length to grow an array to: double the current one, or what is
+     * needed if that is more, computed in long so it cannot wrap around.
+     *
+     * @throws IllegalStateException if the needed length exceeds what an array can hold
+     */
+    private static int grownLength(int current, long needed, String what) {
+        if (needed > MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Columnar task storage is full: " + what + " would need " + needed
+                    + " array slots, at most " + MAX_ARRAY_LENGTH + " fit");
+        }
+        return (int) Math.min(MAX_ARRAY_LENGTH, Math.max(2L * current, needed));
+    }
+
+    static LocalDateTime createdAt(long epochSecond, int nano) {
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * A creation-time range {@code [from, to)} as epoch seconds and nanos, compared
+     * without building a LocalDateTime per row. A null bound is open.
+     */
+    record CreatedRange(long fromSecond, int fromNano, long toSecond, int toNano) {
+
+        static CreatedRange of(LocalDateTime from, LocalDateTime to) {
+            return new CreatedRange(
+                    from == null ? Long.MIN_VALUE : from.toEpochSecond(ZoneOffset.UTC), from == null ? 0 : from.getNano(),
+                    to == null ? Long.MAX_VALUE : to.toEpochSecond(ZoneOffset.UTC), to == null ? 0 : to.getNano());
+        }
+
+        boolean contains(long second, int nano) {
+            boolean afterFrom = second > fromSecond || (second == fromSecond && nano >= fromNano);
+            boolean beforeTo = second < toSecond || (second == toSecond && nano < toNano);
+            return afterFrom && beforeTo;
+        }
+    }
+}
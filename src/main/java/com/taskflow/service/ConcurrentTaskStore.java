@@ -0,0 +1,221 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe wrapper around an in-memory TaskStore.
+ * Changes take the write lock of a StampedLock for the few operations that touch the
+ * index, arrays and status buckets. Queries that walk a structure (lists, pages,
+ * ranges, searches and planned queries) take the read lock, since a traversal racing
+ * a writer could see torn state or fail to terminate. Only single-value reads (a
+ * lookup by ID, a count, the size) run as optimistic reads without locking, and are
+ * repeated under the read lock if a write overlapped.
+ */
+class ConcurrentTaskStore implements TaskStore {
+
+    private final TaskStore delegate;
+    private final StampedLock lock = new StampedLock();
+
+    /** Whether the delegate publishes snapshots that can be read without the lock. */
+    private final boolean publishesSnapshots;
+
+    ConcurrentTaskStore(TaskStore delegate) {
+        this.delegate = delegate;
+        this.publishesSnapshots = delegate instanceof InMemoryTaskStore;
+    }
+
+    @Override
+    public void add(Task task) {
+        long stamp = lock.writeLock();
+        try {
+            delegate.add(task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setStatus(Task task, TaskStatus status) {
+        long stamp = lock.writeLock();
+        try {
+            delegate.setStatus(task, status);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setText(Task task, String title, String description) {
+        long stamp = lock.writeLock();
+        try {
+            delegate.setText(task, title, description);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        long stamp = lock.writeLock();
+        try {
+            delegate.remove(task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies all changes under a single write lock.
+     */
+    @Override
+    public void applyBatch(Consumer<TaskStore> changes) {
+        long stamp = lock.writeLock();
+        try {
+            changes.accept(delegate);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(int id) {
+        return read(() -> delegate.findById(id));
+    }
+
+    /**
+     * Reads the latest published snapshot, which needs no lock, if the delegate has one.
+     */
+    @Override
+    public List<Task> findAll() {
+        return publishesSnapshots ? delegate.findAll() : readLocked(delegate::findAll);
+    }
+
+    @Override
+    public TaskSnapshot snapshot() {
+        return publishesSnapshots ? delegate.snapshot() : readLocked(delegate::snapshot);
+    }
+
+    @Override
+    public List<Task> findPage(int afterId, int limit, TaskStatus status) {
+        return readLocked(() -> delegate.findPage(afterId, limit, status));
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        return readLocked(() -> delegate.findByStatus(status));
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return readLocked(() -> delegate.findCreatedBetween(from, to));
+    }
+
+    @Override
+    public int countByStatus(TaskStatus status) {
+        return read(() -> delegate.countByStatus(status));
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        prepareTextIndex();
+        return readLocked(() -> delegate.search(query));
+    }
+
+    /**
+     * Plans and runs the query under one read lock, so it sees a single consistent state.
+     */
+    @Override
+    public List<Task> query(TaskQuery query) {
+        if (usesText(query.filter())) {
+            prepareTextIndex();
+        }
+        return readLocked(() -> delegate.query(query));
+    }
+
+    @Override
+    public String explain(TaskQuery query) {
+        if (usesText(query.filter())) {
+            prepareTextIndex();
+        }
+        return readLocked(() -> delegate.explain(query));
+    }
+
+    @Override
+    public int size() {
+        return read(delegate::size);
+    }
+
+    @Override
+    public int maxId() {
+        return read(delegate::maxId);
+    }
+
+    /**
+     * Builds the text index of an InMemoryTaskStore under the write lock, so that no
+     * read ever has to change the store.
+     */
+    private void prepareTextIndex() {
+        if (delegate instanceof InMemoryTaskStore objects && !objects.hasTextIndex()) {
+            long stamp = lock.writeLock();
+            try {
+                objects.textIndex();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private static boolean usesText(TaskFilter filter) {
+        return switch (filter) {
+            case TaskFilter.TextMatches matches -> true;
+            case TaskFilter.And(List<TaskFilter> parts) -> parts.stream().anyMatch(ConcurrentTaskStore::usesText);
+            case TaskFilter.Or(List<TaskFilter> parts) -> parts.stream().anyMatch(ConcurrentTaskStore::usesText);
+            default -> false;
+        };
+    }
+
+    /**
+     * Runs a traversal under the read lock.
+     */
+    private <T> T readLocked(Supplier<T> query) {
+        long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a single-value read optimistically, repeating it under the read lock if a
+     * write overlapped. Only for reads that touch a bounded number of fields.
+     */
+    private <T> T read(Supplier<T> query) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = query.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // A concurrent change left the structures inconsistent; retry under the lock.
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * TaskStore that keeps every task in memory, in creation order.
+ *
+ * <p>Tasks sit in an array in ID order and an {@link IntIndex} maps each ID to its
+ * position, so lookups and removals take constant time and a page of tasks after a
+ * given ID is found by binary search. New IDs are normally the highest yet and are
+ * appended; the rare task that arrives out of order is slotted in near the end.
+ * A removal leaves a hole in the array; holes are squeezed out by the removal that
+ * makes them half the array. Reads never compact: full listings come from the
+ * published snapshot, and pages and lookups step over holes.
+ *
+ * <p>Each task is also kept in the bucket of its current status, a set ordered by ID,
+ * so status filters and per-status counts only touch the matching tasks, and in an ordered map keyed by
+ * creation time, so time ranges are found in O(log n + k). Both are filled as tasks are
+ * loaded. The words of every task are kept in a {@link TextIndex} for full-text search,
+ * which is built on the first search, so that loading never reads descriptions.
+ *
+ * <p>Alongside the working structures the store keeps read-only copies of the tasks in
+ * a persistent {@link TaskTrie}. Every change, or batch of changes, publishes the new
+ * trie as a {@link TaskSnapshot} through a volatile field, so full listings are read
+ * from a snapshot without locking and can never see a change half-made.
+ */
+class InMemoryTaskStore implements TaskStore, QueryPlanner.Source {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final IntIndex positions = new IntIndex();
+    private final Map<TaskStatus, NavigableSet<Task>> byStatus = new EnumMap<>(TaskStatus.class);
+    /** Null until the first text search. */
+    private TextIndex text;
+
+    /** Tasks by creation time in microseconds since the epoch; almost every list holds one task. */
+    private final NavigableMap<Long, List<Task>> byCreatedAt = new TreeMap<>();
+    private int holes;
+    private int maxId;
+
+    private TaskTrie versions = TaskTrie.EMPTY;
+    private long version;
+    private int batchDepth;
+    private volatile TaskSnapshot published = new TaskSnapshot(TaskTrie.EMPTY, 0);
+
+    InMemoryTaskStore() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new TreeSet<>(Comparator.comparingInt(Task::getId)));
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        int existing = positions.get(task.getId());
+        if (existing != IntIndex.MISSING) {
+            Task replaced = tasks.set(existing, task);
+            byStatus.get(replaced.getStatus()).remove(replaced);
+            if (text != null) {
+                text.remove(replaced.getId(), replaced.getTitle(), replaced.getDescription());
+            }
+            removeCreatedAt(replaced);
+        } else if (task.getId() > maxId) {
+            positions.put(task.getId(), tasks.size());
+            tasks.add(task);
+        } else {
+            insert(task);
+        }
+        byStatus.get(task.getStatus()).add(task);
+        if (text != null) {
+            text.add(task.getId(), task.getTitle(), task.getDescription());
+        }
+        byCreatedAt.computeIfAbsent(epochMicros(task.getCreatedAt()), key -> new ArrayList<>(1)).add(task);
+        maxId = Math.max(maxId, task.getId());
+        record(task);
+    }
+
+    @Override
+    public void setStatus(Task task, TaskStatus status) {
+        TaskStatus previous = task.getStatus();
+        task.setStatus(status);
+        if (status != previous) {
+            byStatus.get(previous).remove(task);
+            byStatus.get(status).add(task);
+        }
+        record(task);
+    }
+
+    @Override
+    public void setText(Task task, String title, String description) {
+        String previousTitle = task.getTitle();
+        // Only read a lazy description when the index needs it.
+        String previousDescription = text != null ? task.getDescription() : null;
+        task.setTitle(title);
+        task.setDescription(description);
+        if (text != null) {
+            text.remove(task.getId(), previousTitle, previousDescription);
+            text.add(task.getId(), task.getTitle(), task.getDescription());
+        }
+        record(task);
+    }
+
+    @Override
+    public void remove(Task task) {
+        int position = positions.remove(task.getId());
+        if (position == IntIndex.MISSING) {
+            return;
+        }
+        Task removed = tasks.set(position, null);
+        byStatus.get(removed.getStatus()).remove(removed);
+        if (text != null) {
+            text.remove(removed.getId(), removed.getTitle(), removed.getDescription());
+        }
+        removeCreatedAt(removed);
+        holes++;
+        if (holes > tasks.size() / 2) {
+            compact();
+        }
+        versions = versions.without(removed.getId());
+        publish();
+    }
+
+    /**
+     * Applies the changes and publishes them as a single snapshot.
+     */
+    @Override
+    public void applyBatch(Consumer<TaskStore> changes) {
+        batchDepth++;
+        try {
+            changes.accept(this);
+        } finally {
+            batchDepth--;
+            publish();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(int id) {
+        int position = positions.get(id);
+        return position == IntIndex.MISSING ? Optional.empty() : Optional.of(tasks.get(position));
+    }
+
+    /**
+     * Returns the tasks of the latest snapshot, without locking.
+     */
+    @Override
+    public List<Task> findAll() {
+        return published.tasks();
+    }
+
+    @Override
+    public TaskSnapshot snapshot() {
+        return published;
+    }
+
+    /**
+     * Binary-searches for the first task after {@code afterId} and walks forward from
+     * there, so only the tasks of the page (and, with a status, the tasks skipped for
+     * not matching it) are touched. Does not compact, leaving the store untouched.
+     */
+    @Override
+    public List<Task> findPage(int afterId, int limit, TaskStatus status) {
+        List<Task> page = new ArrayList<>(Math.min(limit, size()));
+        for (int i = firstPositionAfter(afterId); i < tasks.size() && page.size() < limit; i++) {
+            Task task = tasks.get(i);
+            if (task != null && (status == null || task.getStatus() == status)) {
+                page.add(task);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Copies the bucket, which is already in ID order.
+     */
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        return new ArrayList<>(byStatus.get(status));
+    }
+
+    /**
+     * Walks the part of the creation-time map inside the range. Keys are whole
+     * microseconds, so the tasks at either end are checked against the exact bounds.
+     */
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        TaskFilter range = TaskFilter.createdBetween(from, to);
+        List<Task> found = new ArrayList<>();
+        for (List<Task> sameTime : createdRange(from, to).values()) {
+            for (Task task : sameTime) {
+                if (range.test(task)) {
+                    found.add(task);
+                }
+            }
+        }
+        found.sort(TaskQuery.Sort.CREATED_AT.comparator());
+        return found;
+    }
+
+    @Override
+    public int countByStatus(TaskStatus status) {
+        return byStatus.get(status).size();
+    }
+
+    @Override
+    public List<Task> search(String query) {
+        List<Task> matches = new ArrayList<>();
+        for (int id : textIndex().search(query)) {
+            matches.add(tasks.get(positions.get(id)));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns whether the text index has been built, so that searching changes nothing.
+     */
+    boolean hasTextIndex() {
+        return text != null;
+    }
+
+    /**
+     * Returns the text index, indexing every task on first use. The first call changes
+     * the store, so under a ConcurrentTaskStore it must be made under the write lock.
+     */
+    TextIndex textIndex() {
+        if (text == null) {
+            TextIndex index = new TextIndex();
+            for (Task task : tasks) {
+                if (task != null) {
+                    index.add(task.getId(), task.getTitle(), task.getDescription());
+                }
+            }
+            text = index;
+        }
+        return text;
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        return QueryPlanner.execute(query, this);
+    }
+
+    @Override
+    public String explain(TaskQuery query) {
+        return QueryPlanner.explain(query, this);
+    }
+
+    /**
+     * Offers the ID order of the array, the status buckets and the text index.
+     */
+    @Override
+    public QueryPlanner.IndexScan indexScan(TaskFilter condition) {
+        if (condition instanceof TaskFilter.StatusIs(TaskStatus status)) {
+            return new QueryPlanner.IndexScan("status index (" + condition + ")", countByStatus(status), true,
+                    () -> byStatus.get(status));
+        }
+        if (condition instanceof TaskFilter.IdBetween(int from, int to)) {
+            int start = from == Integer.MIN_VALUE ? 0 : firstPositionAfter(from - 1);
+            int end = Math.max(start, firstPositionAfter(to));
+            return new QueryPlanner.IndexScan("ID range (" + condition + ")", end - start, true, () -> {
+                List<Task> range = new ArrayList<>(end - start);
+                for (int i = start; i < end && i < tasks.size(); i++) {
+                    if (tasks.get(i) != null) {
+                        range.add(tasks.get(i));
+                    }
+                }
+                return range;
+            });
+        }
+        if (condition instanceof TaskFilter.CreatedBetween(LocalDateTime from, LocalDateTime to)) {
+            return new QueryPlanner.IndexScan("createdAt index (" + condition + ")", estimateCreatedBetween(from, to),
+                    false, () -> findCreatedBetween(from, to));
+        }
+        if (condition instanceof TaskFilter.TextMatches(String query)) {
+            return new QueryPlanner.IndexScan("text index (" + condition + ")", textIndex().postingCount(query), false,
+                    () -> search(query));
+        }
+        return null;
+    }
+
+    @Override
+    public void scan(Predicate<Task> visitor) {
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task != null && !visitor.test(task)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return tasks.size() - holes;
+    }
+
+    @Override
+    public int maxId() {
+        return maxId;
+    }
+
+    private NavigableMap<Long, List<Task>> createdRange(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<Long, List<Task>> range = byCreatedAt;
+        if (from != null) {
+            range = range.tailMap(epochMicros(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(epochMicros(to), true);
+        }
+        return range;
+    }
+
+    /**
+     * Estimates how many tasks a creation-time range holds, assuming creation times are
+     * spread evenly between the first and the last task. Costs O(log n), where counting
+     * the range exactly would cost O(k).
+     */
+    private int estimateCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        if (byCreatedAt.isEmpty()) {
+            return 0;
+        }
+        long first = byCreatedAt.firstKey();
+        long last = byCreatedAt.lastKey();
+        long low = from == null ? first : Math.max(first, epochMicros(from));
+        long high = to == null ? last : Math.min(last, epochMicros(to));
+        if (low > high) {
+            return 0;
+        }
+        if (first == last) {
+            return size();
+        }
+        double fraction = ((double) high - low) / ((double) last - first);
+        return (int) Math.ceil(fraction * size());
+    }
+
+    private void removeCreatedAt(Task task) {
+        long key = epochMicros(task.getCreatedAt());
+        List<Task> sameTime = byCreatedAt.get(key);
+        if (sameTime != null) {
+            sameTime.removeIf(candidate -> candidate.getId() == task.getId());
+            if (sameTime.isEmpty()) {
+                byCreatedAt.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the index key for a time, saturating for the few times too far from the
+     * epoch to fit, so that extreme range bounds still order correctly.
+     */
+    private static long epochMicros(LocalDateTime time) {
+        try {
+            return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                    time.getNano() / 1_000);
+        } catch (ArithmeticException e) {
+            return time.getYear() < 1970 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the position of the first task with an ID above {@code afterId}, or the
+     * array size if there is none. A probe that lands on a hole moves on to the next task.
+     */
+    private int firstPositionAfter(int afterId) {
+        int low = 0;
+        int high = tasks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int probe = mid;
+            while (probe < high && tasks.get(probe) == null) {
+                probe++;
+            }
+            if (probe < high && tasks.get(probe).getId() <= afterId) {
+                low = probe + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Slots in a task whose ID is below the highest, keeping the array in ID order, and
+     * re-points the index at the tasks that moved up.
+     */
+    private void insert(Task task) {
+        int position = tasks.size();
+        while (position > 0 && (tasks.get(position - 1) == null || tasks.get(position - 1).getId() > task.getId())) {
+            position--;
+        }
+        tasks.add(position, task);
+        for (int i = position; i < tasks.size(); i++) {
+            Task moved = tasks.get(i);
+            if (moved != null) {
+                positions.put(moved.getId(), i);
+            }
+        }
+    }
+
+    /**
+     * Stores a read-only copy of the task in the next version.
+     */
+    private void record(Task task) {
+        versions = versions.with(task.readOnlyCopy());
+        publish();
+    }
+
+    /**
+     * Makes the current version visible to readers, unless a batch is still running.
+     */
+    private void publish() {
+        if (batchDepth == 0 && published.trie() != versions) {
+            published = new TaskSnapshot(versions, ++version);
+        }
+    }
+
+    /**
+     * Removes the holes left by removals and re-points the index at the new positions.
+     */
+    private void compact() {
+        if (holes == 0) {
+            return;
+        }
+        int write = 0;
+        for (int read = 0; read < tasks.size(); read++) {
+            Task task = tasks.get(read);
+            if (task != null) {
+                if (write != read) {
+                    tasks.set(write, task);
+                    positions.put(task.getId(), write);
+                }
+                write++;
+            }
+        }
+        tasks.subList(write, tasks.size()).clear();
+        holes = 0;
+    }
+}
@@ -0,0 +1,151 @@
+package com.taskflow.service;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from int keys to non-negative int values, stored in two primitive arrays
+ * so lookups never box. Uses open addressing with linear probing and backward-shift
+ * deletion, which keeps probe sequences short without tombstones.
+ *
+ * <p>Not thread-safe, but {@link #get(int)} reads each array reference once and
+ * probes at most one full table, so an optimistic reader racing a writer gets a
+ * wrong answer it can discard rather than an endless loop.
+ */
+class IntIndex {
+
+    /** Returned by {@link #get(int)} for a key that is not present. */
+    static final int MISSING = -1;
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /** {@code EMPTY} marks a free slot, so that key is kept out of the table. */
+    private boolean hasEmptyKey;
+    private int emptyKeyValue;
+
+    IntIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size + (hasEmptyKey ? 1 : 0);
+    }
+
+    /**
+     * Returns the value for the key, or {@link #MISSING} if there is none.
+     */
+    int get(int key) {
+        if (key == EMPTY) {
+            return hasEmptyKey ? emptyKeyValue : MISSING;
+        }
+        int[] keys = this.keys;
+        int[] values = this.values;
+        int mask = Math.min(keys.length, values.length) - 1;
+        int slot = slotOf(key) & mask;
+        for (int probes = 0; probes <= mask && keys[slot] != EMPTY; probes++) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Index values must not be negative");
+        }
+        if (key == EMPTY) {
+            hasEmptyKey = true;
+            emptyKeyValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the key and returns its value, or {@link #MISSING} if it was absent.
+     */
+    int remove(int key) {
+        if (key == EMPTY) {
+            int removed = hasEmptyKey ? emptyKeyValue : MISSING;
+            hasEmptyKey = false;
+            return removed;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+
+        // Shift later entries of the probe run back so no lookup hits a gap early.
+        int free = slot;
+        int next = (free + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = slotOf(keys[next]);
+            if (((next - ideal) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+        hasEmptyKey = false;
+    }
+
+    private int slotOf(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,502 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * TaskStore that keeps tasks outside the Java heap, in direct ByteBuffers.
+ *
+ * <p>Each task is a fixed-width record of {@value #RECORD_SIZE} bytes in one buffer:
+ * ID, status ordinal, creation time in seconds since the epoch (UTC) plus nanos, and
+ * the offset and lengths of its title and description, whose UTF-8 bytes live in a second
+ * buffer. Records are kept in ID order. The heap holds only the two buffer objects,
+ * a primitive ID-to-record index and a few counters, so its size and the work of the
+ * garbage collector do not grow with the number of tasks.
+ *
+ * <p>Records are read in place through a {@link Record} flyweight that is moved from
+ * record to record; a Task object is only built for a record that a caller receives.
+ * Removed records and replaced text stay in the buffers until they make up half of
+ * one, and are then squeezed out. A full buffer is copied into one twice the size; the
+ * old one is released when the garbage collector finds it unreachable.
+ *
+ * <p>Like {@link ColumnarTaskStore}, this store has no index besides ID, searches by
+ * scanning, and builds snapshots by copying the tasks out.
+ */
+class OffHeapTaskStore implements TaskStore, QueryPlanner.Source {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final byte REMOVED = -1;
+
+    private static final int ID = 0;
+    private static final int STATUS = 4;
+    private static final int CREATED_SECONDS = 8;
+    private static final int TEXT_OFFSET = 16;
+    private static final int TITLE_LENGTH = 20;
+    private static final int DESCRIPTION_LENGTH = 24;
+    private static final int CREATED_NANOS = 28;
+    private static final int RECORD_SIZE = 32;
+
+    private static final int INITIAL_RECORDS = 1024;
+    private static final int INITIAL_TEXT = 64 * 1024;
+
+    private ByteBuffer records = allocate(INITIAL_RECORDS * RECORD_SIZE);
+    private int rows;
+    private int removedRows;
+
+    private ByteBuffer text = allocate(INITIAL_TEXT);
+    private int textSize;
+    private int textGarbage;
+
+    private final IntIndex positions = new IntIndex();
+    private final int[] statusCounts = new int[STATUSES.length];
+    private int maxId;
+    private long version;
+
+    @Override
+    public void add(Task task) {
+        int row = positions.get(task.getId());
+        if (row != IntIndex.MISSING) {
+            statusCounts[status(row)]--;
+            textGarbage += textLength(row);
+        } else {
+            // Removed records keep their IDs until compaction, so the records stay sorted.
+            row = task.getId() > maxId ? rows : firstRowAfter(task.getId());
+            openRow(row);
+            records.putInt(row * RECORD_SIZE + ID, task.getId());
+            positions.put(task.getId(), row);
+        }
+        int base = row * RECORD_SIZE;
+        records.put(base + STATUS, (byte) task.getStatus().ordinal());
+        records.putLong(base + CREATED_SECONDS, task.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        records.putInt(base + CREATED_NANOS, task.getCreatedAt().getNano());
+        statusCounts[task.getStatus().ordinal()]++;
+        writeText(row, task.getTitle(), task.getDescription());
+        maxId = Math.max(maxId, task.getId());
+        version++;
+    }
+
+    @Override
+    public void setStatus(Task task, TaskStatus status) {
+        int row = positions.get(task.getId());
+        task.setStatus(status);
+        if (row != IntIndex.MISSING) {
+            statusCounts[status(row)]--;
+            records.put(row * RECORD_SIZE + STATUS, (byte) status.ordinal());
+            statusCounts[status.ordinal()]++;
+            version++;
+        }
+    }
+
+    @Override
+    public void setText(Task task, String title, String description) {
+        task.setTitle(title);
+        task.setDescription(description);
+        int row = positions.get(task.getId());
+        if (row != IntIndex.MISSING) {
+            textGarbage += textLength(row);
+            writeText(row, task.getTitle(), task.getDescription());
+            version++;
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        int row = positions.remove(task.getId());
+        if (row == IntIndex.MISSING) {
+            return;
+        }
+        statusCounts[status(row)]--;
+        records.put(row * RECORD_SIZE + STATUS, REMOVED);
+        textGarbage += textLength(row);
+        removedRows++;
+        if (removedRows > rows / 2) {
+            compactRows();
+        }
+        version++;
+    }
+
+    @Override
+    public void applyBatch(Consumer<TaskStore> changes) {
+        changes.accept(this);
+    }
+
+    @Override
+    public Optional<Task> findById(int id) {
+        int row = positions.get(id);
+        return row == IntIndex.MISSING ? Optional.empty() : Optional.of(new Record().moveTo(row).toTask());
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> all = new ArrayList<>(size());
+        scan(task -> all.add(task.readOnlyCopy()));
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Copies every task into a new trie; the cost grows with the store.
+     */
+    @Override
+    public TaskSnapshot snapshot() {
+        List<Task> all = new ArrayList<>(size());
+        scan(task -> all.add(task.readOnlyCopy()));
+        return new TaskSnapshot(TaskTrie.of(all), version);
+    }
+
+    @Override
+    public List<Task> findPage(int afterId, int limit, TaskStatus status) {
+        List<Task> page = new ArrayList<>(Math.min(limit, size()));
+        Record record = new Record();
+        for (int row = firstRowAfter(afterId); row < rows && page.size() < limit; row++) {
+            record.moveTo(row);
+            if (!record.isRemoved() && (status == null || record.status() == status)) {
+                page.add(record.toTask());
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        List<Task> matching = new ArrayList<>(statusCounts[status.ordinal()]);
+        scanRecords(record -> record.status() == status, matching::add);
+        return matching;
+    }
+
+    @Override
+    public int countByStatus(TaskStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> found = new ArrayList<>();
+        scanRecords(createdBetween(from, to), found::add);
+        found.sort(TaskQuery.Sort.CREATED_AT.comparator());
+        return found;
+    }
+
+    /**
+     * Ranks like {@link TextIndex}, but from a pass over the records instead of an index.
+     */
+    @Override
+    public List<Task> search(String query) {
+        Set<String> terms = TextIndex.tokenize(query);
+        Map<Integer, Map<String, Integer>> matches = new HashMap<>();
+        Record record = new Record();
+        for (int row = 0; row < rows; row++) {
+            if (record.moveTo(row).isRemoved()) {
+                continue;
+            }
+            Map<String, Integer> frequencies = TextIndex.termFrequencies(record.title(), record.description());
+            frequencies.keySet().retainAll(terms);
+            if (!frequencies.isEmpty()) {
+                matches.put(row, frequencies);
+            }
+        }
+        // Records are in ID order, so ties still break by ID.
+        return TextIndex.rank(matches, size()).stream().map(row -> record.moveTo(row).toTask()).toList();
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        return QueryPlanner.execute(query, this);
+    }
+
+    @Override
+    public String explain(TaskQuery query) {
+        return QueryPlanner.explain(query, this);
+    }
+
+    /**
+     * Offers only ID ranges, found by binary search over the records.
+     */
+    @Override
+    public QueryPlanner.IndexScan indexScan(TaskFilter condition) {
+        if (condition instanceof TaskFilter.IdBetween(int from, int to)) {
+            int start = from == Integer.MIN_VALUE ? 0 : firstRowAfter(from - 1);
+            int end = Math.max(start, firstRowAfter(to));
+            return new QueryPlanner.IndexScan("ID range (" + condition + ")", end - start, true, () -> {
+                List<Task> range = new ArrayList<>(end - start);
+                Record record = new Record();
+                for (int row = start; row < end && row < rows; row++) {
+                    if (!record.moveTo(row).isRemoved()) {
+                        range.add(record.toTask());
+                    }
+                }
+                return range;
+            });
+        }
+        return null;
+    }
+
+    @Override
+    public void scan(Predicate<Task> visitor) {
+        scanRecords(record -> true, visitor);
+    }
+
+    /**
+     * Evaluates the filter on the records in place and builds tasks only for matches.
+     */
+    @Override
+    public void scan(TaskFilter filter, Predicate<Task> visitor) {
+        scanRecords(recordFilter(filter), visitor);
+    }
+
+    @Override
+    public int size() {
+        return rows - removedRows;
+    }
+
+    @Override
+    public int maxId() {
+        return maxId;
+    }
+
+    /**
+     * Passes a task for each live record the filter accepts to the visitor, in ID
+     * order, until the visitor returns false.
+     */
+    private void scanRecords(Predicate<Record> filter, Predicate<Task> visitor) {
+        Record record = new Record();
+        int end = rows;
+        for (int row = 0; row < end; row++) {
+            record.moveTo(row);
+            if (!record.isRemoved() && filter.test(record) && !visitor.test(record.toTask())) {
+                return;
+            }
+        }
+    }
+
+    private Predicate<Record> recordFilter(TaskFilter filter) {
+        return switch (filter) {
+            case TaskFilter.All all -> record -> true;
+            case TaskFilter.StatusIs(TaskStatus status) -> record -> record.status() == status;
+            case TaskFilter.IdBetween(int from, int to) -> record -> record.id() >= from && record.id() <= to;
+            case TaskFilter.CreatedBetween(LocalDateTime from, LocalDateTime to) -> createdBetween(from, to);
+            case TaskFilter.TextMatches matches -> record -> matches.test(record.toTask());
+            case TaskFilter.And(List<TaskFilter> parts) -> {
+                List<Predicate<Record>> checks = parts.stream().map(this::recordFilter).toList();
+                yield record -> {
+                    for (Predicate<Record> check : checks) {
+                        if (!check.test(record)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+            case TaskFilter.Or(List<TaskFilter> parts) -> {
+                List<Predicate<Record>> checks = parts.stream().map(this::recordFilter).toList();
+                yield record -> {
+                    for (Predicate<Record> check : checks) {
+                        if (check.test(record)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+        };
+    }
+
+    private static Predicate<Record> createdBetween(LocalDateTime from, LocalDateTime to) {
+        ColumnarTaskStore.CreatedRange range = ColumnarTaskStore.CreatedRange.of(from, to);
+        return record -> range.contains(record.createdSeconds(), record.createdNanos());
+    }
+
+    /**
+     * Flyweight over one record of the buffer. Accessors read the record in place;
+     * {@link #moveTo} points the same instance at another record.
+     */
+    private final class Record {
+
+        private int base;
+
+        Record moveTo(int row) {
+            base = row * RECORD_SIZE;
+            return this;
+        }
+
+        boolean isRemoved() {
+            return records.get(base + STATUS) == REMOVED;
+        }
+
+        int id() {
+            return records.getInt(base + ID);
+        }
+
+        TaskStatus status() {
+            return STATUSES[records.get(base + STATUS)];
+        }
+
+        long createdSeconds() {
+            return records.getLong(base + CREATED_SECONDS);
+        }
+
+        int createdNanos() {
+            return records.getInt(base + CREATED_NANOS);
+        }
+
+        String title() {
+            return decode(records.getInt(base + TEXT_OFFSET), records.getInt(base + TITLE_LENGTH));
+        }
+
+        String description() {
+            return decode(records.getInt(base + TEXT_OFFSET) + records.getInt(base + TITLE_LENGTH),
+                    records.getInt(base + DESCRIPTION_LENGTH));
+        }
+
+        Task toTask() {
+            return new Task(id(), title(), description(), status(),
+                    ColumnarTaskStore.createdAt(createdSeconds(), createdNanos()));
+        }
+    }
+
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        text.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int status(int row) {
+        return records.get(row * RECORD_SIZE + STATUS);
+    }
+
+    private int textLength(int row) {
+        int base = row * RECORD_SIZE;
+        return records.getInt(base + TITLE_LENGTH) + records.getInt(base + DESCRIPTION_LENGTH);
+    }
+
+    /**
+     * Appends a record's text to the text buffer, compacting or growing it as needed.
+     */
+    private void writeText(int row, String title, String description) {
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description.getBytes(StandardCharsets.UTF_8);
+        int length = titleBytes.length + descriptionBytes.length;
+        if (length > text.capacity() - textSize) {
+            if (textGarbage > textSize / 2) {
+                compactText(row);
+            }
+            if (length > text.capacity() - textSize) {
+                text = grow(text, textSize, (long) textSize + length);
+            }
+        }
+        text.put(textSize, titleBytes);
+        text.put(textSize + titleBytes.length, descriptionBytes);
+        int base = row * RECORD_SIZE;
+        records.putInt(base + TEXT_OFFSET, textSize);
+        records.putInt(base + TITLE_LENGTH, titleBytes.length);
+        records.putInt(base + DESCRIPTION_LENGTH, descriptionBytes.length);
+        textSize += length;
+    }
+
+    /**
+     * Copies the text of the live records into a new buffer, dropping replaced and
+     * removed text. The record being rewritten is skipped, since its old text is garbage.
+     */
+    private void compactText(int rewrittenRow) {
+        ByteBuffer compacted = allocate(text.capacity());
+        int size = 0;
+        for (int row = 0; row < rows; row++) {
+            if (status(row) == REMOVED || row == rewrittenRow) {
+                continue;
+            }
+            int base = row * RECORD_SIZE;
+            int length = textLength(row);
+            compacted.put(size, text, records.getInt(base + TEXT_OFFSET), length);
+            records.putInt(base + TEXT_OFFSET, size);
+            size += length;
+        }
+        text = compacted;
+        textSize = size;
+        textGarbage = 0;
+    }
+
+    /**
+     * Moves the live records down over removed ones and re-points the index.
+     */
+    private void compactRows() {
+        int write = 0;
+        for (int read = 0; read < rows; read++) {
+            if (status(read) == REMOVED) {
+                continue;
+            }
+            if (write != read) {
+                records.put(write * RECORD_SIZE, records, read * RECORD_SIZE, RECORD_SIZE);
+                positions.put(records.getInt(write * RECORD_SIZE + ID), write);
+            }
+            write++;
+        }
+        rows = write;
+        removedRows = 0;
+    }
+
+    /**
+     * Makes room for a record at the given row, shifting later records up by one.
+     */
+    private void openRow(int row) {
+        if (rows * RECORD_SIZE == records.capacity()) {
+            records = grow(records, rows * RECORD_SIZE, ((long) rows + 1) * RECORD_SIZE);
+        }
+        // Shift from the end, one record at a time, so no record is overwritten before it moves.
+        for (int shifted = rows; shifted > row; shifted--) {
+            records.put(shifted * RECORD_SIZE, records, (shifted - 1) * RECORD_SIZE, RECORD_SIZE);
+            if (status(shifted) != REMOVED) {
+                positions.put(records.getInt(shifted * RECORD_SIZE + ID), shifted);
+            }
+        }
+        rows++;
+    }
+
+    /**
+     * Returns the first row with an ID above {@code afterId}, or the row count if none.
+     */
+    private int firstRowAfter(int afterId) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (records.getInt(mid * RECORD_SIZE + ID) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copies the used part of a buffer into a new one with room for at least
+     * {@code needed} bytes.
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int used, long needed) {
+        long capacity = Math.max((long) buffer.capacity() * 2, needed);
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap task storage is full at " + buffer.capacity() + " bytes");
+        }
+        ByteBuffer grown = allocate((int) Math.min(capacity, Integer.MAX_VALUE));
+        grown.put(0, buffer, 0, used);
+        return grown;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+}
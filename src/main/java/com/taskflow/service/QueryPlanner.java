@@ -0,0 +1,203 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Plans and runs {@link TaskQuery TaskQueries} against the indexes of a task store.
+ *
+ * <p>For each condition the store is asked for an index lookup. An AND uses the most
+ * selective lookup among its parts and checks the rest on the tasks it returns; an OR
+ * unions the lookups of its parts, if every part has one. Whenever no lookup applies,
+ * or the chosen one would return about as many tasks as the store holds, the query
+ * runs as a single scan instead. Either way every candidate is checked against the
+ * whole filter, and the results are ordered and cut to the limit with a bounded heap.
+ */
+final class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * The indexes and scan of a store, as seen by the planner.
+     */
+    interface Source {
+
+        int size();
+
+        /**
+         * Returns a lookup for a single condition, or null if no index covers it.
+         * The lookup may return extra tasks, but must return every matching one.
+         */
+        IndexScan indexScan(TaskFilter condition);
+
+        /**
+         * Passes tasks to the visitor in ID order until it returns false.
+         */
+        void scan(Predicate<Task> visitor);
+
+        /**
+         * Passes the tasks matching the filter to the visitor in ID order until it
+         * returns false. A store can override this to check the filter before it
+         * builds each task.
+         */
+        default void scan(TaskFilter filter, Predicate<Task> visitor) {
+            scan(task -> !filter.test(task) || visitor.test(task));
+        }
+    }
+
+    /**
+     * A way to fetch the candidates for a condition.
+     *
+     * @param description how the candidates are found, for {@link #explain}
+     * @param estimate    about how many candidates the lookup returns
+     * @param idOrdered   whether the candidates come in ID order
+     * @param rows        fetches the candidates
+     */
+    record IndexScan(String description, int estimate, boolean idOrdered, Supplier<Collection<Task>> rows) {
+    }
+
+    /**
+     * Runs the query.
+     */
+    static List<Task> execute(TaskQuery query, Source source) {
+        IndexScan plan = plan(query.filter(), source);
+        TaskFilter filter = query.filter();
+        boolean inOrder = query.sort() == TaskQuery.Sort.ID && !query.descending();
+
+        if (plan == null) {
+            if (inOrder) {
+                // The scan is in ID order already, so it can stop at the limit.
+                List<Task> results = new ArrayList<>();
+                source.scan(filter, task -> {
+                    results.add(task);
+                    return results.size() < query.limit();
+                });
+                return results;
+            }
+            TopK results = new TopK(query);
+            source.scan(filter, task -> {
+                results.offer(task);
+                return true;
+            });
+            return results.toList();
+        }
+
+        TopK results = new TopK(query);
+        for (Task task : plan.rows().get()) {
+            if (filter.test(task)) {
+                results.offer(task);
+                if (plan.idOrdered() && inOrder && results.isFull()) {
+                    break;
+                }
+            }
+        }
+        return results.toList();
+    }
+
+    /**
+     * Describes how the query would run.
+     */
+    static String explain(TaskQuery query, Source source) {
+        IndexScan plan = plan(query.filter(), source);
+        String access = plan == null
+                ? "scan of " + source.size() + " task(s)"
+                : plan.description() + " (~" + plan.estimate() + " task(s))";
+        return access + ", filter " + query.filter() + ", order by " + query.sort()
+                + (query.descending() ? " desc" : "")
+                + (query.limit() == Integer.MAX_VALUE ? "" : ", limit " + query.limit());
+    }
+
+    /**
+     * Returns the cheapest index lookup for the filter, or null if a scan is better.
+     */
+    private static IndexScan plan(TaskFilter filter, Source source) {
+        IndexScan best = lookup(filter, source);
+        return best == null || best.estimate() >= source.size() ? null : best;
+    }
+
+    private static IndexScan lookup(TaskFilter filter, Source source) {
+        if (filter instanceof TaskFilter.And and) {
+            IndexScan best = null;
+            for (TaskFilter part : and.parts()) {
+                IndexScan candidate = lookup(part, source);
+                if (candidate != null && (best == null || candidate.estimate() < best.estimate())) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+        if (filter instanceof TaskFilter.Or or) {
+            List<IndexScan> lookups = new ArrayList<>();
+            long estimate = 0;
+            for (TaskFilter part : or.parts()) {
+                IndexScan lookup = lookup(part, source);
+                if (lookup == null) {
+                    return null;
+                }
+                lookups.add(lookup);
+                estimate += lookup.estimate();
+            }
+            return union(lookups, (int) Math.min(estimate, Integer.MAX_VALUE));
+        }
+        return filter == TaskFilter.all() ? null : source.indexScan(filter);
+    }
+
+    private static IndexScan union(List<IndexScan> lookups, int estimate) {
+        String description = "union of " + String.join(" and ", lookups.stream().map(IndexScan::description).toList());
+        return new IndexScan(description, estimate, false, () -> {
+            Map<Integer, Task> tasks = new LinkedHashMap<>();
+            for (IndexScan lookup : lookups) {
+                for (Task task : lookup.rows().get()) {
+                    tasks.putIfAbsent(task.getId(), task);
+                }
+            }
+            return tasks.values();
+        });
+    }
+
+    /**
+     * Keeps the first {@code limit} tasks in query order, in a heap of at most that size.
+     */
+    private static final class TopK {
+
+        private final Comparator<Task> order;
+        private final int limit;
+        private final PriorityQueue<Task> heap;
+
+        TopK(TaskQuery query) {
+            this.order = query.comparator();
+            this.limit = query.limit();
+            // The head of the heap is the worst task kept so far.
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024), order.reversed());
+        }
+
+        void offer(Task task) {
+            if (heap.size() < limit) {
+                heap.add(task);
+            } else if (order.compare(task, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(task);
+            }
+        }
+
+        boolean isFull() {
+            return heap.size() >= limit;
+        }
+
+        List<Task> toList() {
+            List<Task> results = new ArrayList<>(heap);
+            results.sort(order);
+            return results;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import com.taskflow.repository.QueryableTaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * TaskStore that holds nothing in memory: every query is pushed down to a
+ * QueryableTaskRepository and every change is written through to it immediately.
+ * A failed write surfaces as an exception from the mutating call.
+ */
+class RepositoryTaskStore implements TaskStore, QueryPlanner.Source {
+
+    private final QueryableTaskRepository repository;
+    private final AtomicLong version = new AtomicLong();
+
+    RepositoryTaskStore(QueryableTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void add(Task task) {
+        repository.upsert(task);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void setStatus(Task task, TaskStatus status) {
+        task.setStatus(status);
+        repository.upsert(task);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void setText(Task task, String title, String description) {
+        task.setTitle(title);
+        task.setDescription(description);
+        repository.upsert(task);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void remove(Task task) {
+        repository.delete(task.getId());
+        version.incrementAndGet();
+    }
+
+    /**
+     * Collects the changes and writes them to the repository in one operation.
+     */
+    @Override
+    public void applyBatch(Consumer<TaskStore> changes) {
+        BatchWriter batch = new BatchWriter();
+        changes.accept(batch);
+        batch.changes.applyTo(repository);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public Optional<Task> findById(int id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> tasks = new ArrayList<>();
+        repository.forEachTask(tasks::add);
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Builds the snapshot from one scan of the repository; its version counts the
+     * writes made through this store.
+     */
+    @Override
+    public TaskSnapshot snapshot() {
+        long current = version.get();
+        TaskTrie[] trie = {TaskTrie.EMPTY};
+        repository.forEachTask(task -> trie[0] = trie[0].with(task.readOnlyCopy()));
+        return new TaskSnapshot(trie[0], current);
+    }
+
+    @Override
+    public List<Task> findPage(int afterId, int limit, TaskStatus status) {
+        return repository.findPage(afterId, limit, status);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status) {
+        return repository.findByStatus(status);
+    }
+
+    @Override
+    public int countByStatus(TaskStatus status) {
+        return repository.countByStatus(status);
+    }
+
+    @Override
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return repository.findCreatedBetween(from, to);
+    }
+
+    /**
+     * The repository has no text index, so this ranks like {@link TextIndex} from one
+     * streamed pass, keeping only the tasks that match.
+     */
+    @Override
+    public List<Task> search(String query) {
+        Set<String> terms = TextIndex.tokenize(query);
+        Map<Integer, Task> tasks = new HashMap<>();
+        Map<Integer, Map<String, Integer>> matches = new HashMap<>();
+        int[] documents = {0};
+        repository.scan(0, task -> {
+            documents[0]++;
+            Map<String, Integer> frequencies = TextIndex.termFrequencies(task.getTitle(), task.getDescription());
+            frequencies.keySet().retainAll(terms);
+            if (!frequencies.isEmpty()) {
+                tasks.put(task.getId(), task);
+                matches.put(task.getId(), frequencies);
+            }
+            return true;
+        });
+        return TextIndex.rank(matches, documents[0]).stream().map(tasks::get).toList();
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        return QueryPlanner.execute(query, this);
+    }
+
+    @Override
+    public String explain(TaskQuery query) {
+        return QueryPlanner.explain(query, this);
+    }
+
+    /**
+     * Offers the repository's status index and primary key. A primary key lookup asks
+     * for as many rows as the range has IDs, so it may also return tasks past the range.
+     */
+    @Override
+    public QueryPlanner.IndexScan indexScan(TaskFilter condition) {
+        if (condition instanceof TaskFilter.StatusIs(TaskStatus status)) {
+            return new QueryPlanner.IndexScan("status index (" + condition + ")", countByStatus(status), true,
+                    () -> findByStatus(status));
+        }
+        if (condition instanceof TaskFilter.IdBetween(int from, int to) && from <= to) {
+            int ids = (int) Math.min((long) to - from + 1, Integer.MAX_VALUE);
+            return new QueryPlanner.IndexScan("primary key (" + condition + ")", Math.min(ids, size()), true,
+                    () -> repository.findPage(from == Integer.MIN_VALUE ? from : from - 1, ids, null));
+        }
+        return null;
+    }
+
+    /**
+     * Streams pages from the repository, so a query that stops at its limit reads
+     * only the pages it needs.
+     */
+    @Override
+    public void scan(Predicate<Task> visitor) {
+        repository.scan(0, visitor);
+    }
+
+    @Override
+    public int size() {
+        return repository.count();
+    }
+
+    @Override
+    public int maxId() {
+        return repository.maxId();
+    }
+
+    /**
+     * Records the changes of a batch instead of writing each one; queries still go
+     * to the repository.
+     */
+    private class BatchWriter implements TaskStore {
+
+        private final TaskChanges changes = new TaskChanges();
+
+        @Override
+        public void add(Task task) {
+            changes.upsert(task);
+        }
+
+        @Override
+        public void setStatus(Task task, TaskStatus status) {
+            task.setStatus(status);
+            changes.upsert(task);
+        }
+
+        @Override
+        public void setText(Task task, String title, String description) {
+            task.setTitle(title);
+            task.setDescription(description);
+            changes.upsert(task);
+        }
+
+        @Override
+        public void remove(Task task) {
+            changes.delete(task.getId());
+        }
+
+        @Override
+        public void applyBatch(Consumer<TaskStore> nested) {
+            nested.accept(this);
+        }
+
+        @Override
+        public Optional<Task> findById(int id) {
+            return RepositoryTaskStore.this.findById(id);
+        }
+
+        @Override
+        public List<Task> findAll() {
+            return RepositoryTaskStore.this.findAll();
+        }
+
+        @Override
+        public TaskSnapshot snapshot() {
+            return RepositoryTaskStore.this.snapshot();
+        }
+
+        @Override
+        public List<Task> findPage(int afterId, int limit, TaskStatus status) {
+            return RepositoryTaskStore.this.findPage(afterId, limit, status);
+        }
+
+        @Override
+        public List<Task> findByStatus(TaskStatus status) {
+            return RepositoryTaskStore.this.findByStatus(status);
+        }
+
+        @Override
+        public int countByStatus(TaskStatus status) {
+            return RepositoryTaskStore.this.countByStatus(status);
+        }
+
+        @Override
+        public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+            return RepositoryTaskStore.this.findCreatedBetween(from, to);
+        }
+
+        @Override
+        public List<Task> search(String query) {
+            return RepositoryTaskStore.this.search(query);
+        }
+
+        @Override
+        public List<Task> query(TaskQuery query) {
+            return RepositoryTaskStore.this.query(query);
+        }
+
+        @Override
+        public String explain(TaskQuery query) {
+            return RepositoryTaskStore.this.explain(query);
+        }
+
+        @Override
+        public int size() {
+            return RepositoryTaskStore.this.size();
+        }
+
+        @Override
+        public int maxId() {
+            return RepositoryTaskStore.this.maxId();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskflow.service;
+
+/**
+ * How a TaskService keeps its tasks in memory.
+ */
+public enum StorageEngine {
+
+    /** One Task object per task, with indexes on status, text and creation time. */
+    OBJECTS,
+
+    /**
+     * Tasks stored as columns of primitive arrays, with the text in one shared byte
+     * array. Takes far less memory and makes filters over many tasks cheap, but has no
+     * indexes besides ID, and snapshots copy the tasks out.
+     */
+    COLUMNAR,
+
+    /**
+     * Tasks stored as fixed-width records in direct buffers outside the Java heap, so
+     * heap size and garbage collection work stay flat as the number of tasks grows.
+     * Otherwise like COLUMNAR.
+     */
+    OFF_HEAP
+}
@@ -0,0 +1,59 @@
+package com.taskflow.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A group of task operations to be applied together by
+ * {@link TaskService#batch(java.util.function.Consumer)}. Operations are only
+ * recorded here; the service validates all of them before applying any.
+ */
+public final class TaskBatch {
+
+    enum Kind { ADD, START, COMPLETE, DELETE }
+
+    record Operation(Kind kind, int id, TaskDraft draft) {
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    TaskBatch() {
+    }
+
+    /**
+     * Creates a new task.
+     */
+    public TaskBatch add(String title, String description) {
+        operations.add(new Operation(Kind.ADD, 0, new TaskDraft(title, description)));
+        return this;
+    }
+
+    /**
+     * Sets a task to IN_PROGRESS.
+     */
+    public TaskBatch start(int id) {
+        operations.add(new Operation(Kind.START, id, null));
+        return this;
+    }
+
+    /**
+     * Marks a task as DONE.
+     */
+    public TaskBatch complete(int id) {
+        operations.add(new Operation(Kind.COMPLETE, id, null));
+        return this;
+    }
+
+    /**
+     * Deletes a task.
+     */
+    public TaskBatch delete(int id) {
+        operations.add(new Operation(Kind.DELETE, id, null));
+        return this;
+    }
+
+    List<Operation> operations() {
+        return Collections.unmodifiableList(operations);
+    }
+}
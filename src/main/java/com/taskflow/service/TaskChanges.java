@@ -0,0 +1,94 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.repository.TaskRepository;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tasks added, changed or removed since they were last written to the repository.
+ * A later change to the same task replaces an earlier one, so each task appears at
+ * most once, either as upserted or as deleted.
+ *
+ * <p>Upserted tasks are kept as read-only copies taken when the change is recorded,
+ * so a writer on another thread never sees a task that is being changed.
+ */
+class TaskChanges {
+
+    private final Map<Integer, Task> upserted = new LinkedHashMap<>();
+    private final Set<Integer> deletedIds = new LinkedHashSet<>();
+    private int mutationCount;
+
+    void upsert(Task task) {
+        deletedIds.remove(task.getId());
+        upserted.put(task.getId(), task.readOnlyCopy());
+        mutationCount++;
+    }
+
+    void delete(int id) {
+        upserted.remove(id);
+        deletedIds.add(id);
+        mutationCount++;
+    }
+
+    /**
+     * Folds changes made after these on top of them.
+     */
+    void mergeNewer(TaskChanges newer) {
+        for (Integer id : newer.deletedIds) {
+            upserted.remove(id);
+            deletedIds.add(id);
+        }
+        for (Task task : newer.upserted.values()) {
+            deletedIds.remove(task.getId());
+            upserted.put(task.getId(), task);
+        }
+        mutationCount += newer.mutationCount;
+    }
+
+    boolean isEmpty() {
+        return upserted.isEmpty() && deletedIds.isEmpty();
+    }
+
+    /**
+     * Number of mutations recorded, including ones later superseded.
+     */
+    int mutationCount() {
+        return mutationCount;
+    }
+
+    /**
+     * Number of distinct tasks affected.
+     */
+    int size() {
+        return upserted.size() + deletedIds.size();
+    }
+
+    /**
+     * IDs of the tasks affected, upserted or deleted.
+     */
+    Set<Integer> ids() {
+        Set<Integer> ids = new LinkedHashSet<>(upserted.keySet());
+        ids.addAll(deletedIds);
+        return ids;
+    }
+
+    /**
+     * Whether any of the given task IDs is affected.
+     */
+    boolean touchesAny(Set<Integer> ids) {
+        for (Integer id : ids) {
+            if (upserted.containsKey(id) || deletedIds.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void applyTo(TaskRepository repository) {
+        repository.applyChanges(upserted.values(), deletedIds);
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskflow.service;
+
+/**
+ * Title and description of a task that has not been created yet.
+ *
+ * @param title       the task title (required)
+ * @param description the task description (optional)
+ */
+public record TaskDraft(String title, String description) {
+}
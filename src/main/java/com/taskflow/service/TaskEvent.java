@@ -0,0 +1,25 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+/**
+ * A change made through a TaskService, as delivered by its {@link TaskEventFeed}.
+ *
+ * @param sequence       position of the event in the feed, starting at 1 and increasing by one per event
+ * @param type           what happened to the task
+ * @param task           read-only copy of the task after the change, or before it for a deletion
+ * @param previousStatus the status before a STATUS_CHANGED event, otherwise null
+ */
+public record TaskEvent(long sequence, Type type, Task task, TaskStatus previousStatus) {
+
+    /**
+     * Kinds of change.
+     */
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,205 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the changes made through a TaskService as a {@link Flow} of
+ * {@link TaskEvent}s.
+ *
+ * <p>Events are appended to a ring of the most recent {@code retention} events, and
+ * each subscription reads from the ring at its own position, as fast as its demand
+ * allows, on the feed's executor. Publishing never waits for subscribers: the ring is
+ * the bounded buffer every subscriber shares. A subscriber that falls a full ring
+ * behind has missed events, so it is failed with an IllegalStateException and can
+ * resubscribe from the last sequence it saw, if that is still retained, or start
+ * over from a snapshot.
+ */
+public final class TaskEventFeed implements Flow.Publisher<TaskEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventFeed.class);
+
+    private final TaskEvent[] ring;
+    private final Executor executor;
+    private final Set<EventSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /** Sequence of the next event; guarded by {@code this}. */
+    private long nextSequence = 1;
+    private volatile boolean closed;
+
+    TaskEventFeed(int retention, Executor executor) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("Event retention must be at least 1");
+        }
+        this.ring = new TaskEvent[retention];
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to the events published from now on.
+     *
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super TaskEvent> subscriber) {
+        subscribe(subscriber, latestSequence());
+    }
+
+    /**
+     * Subscribes to the events after the given sequence number, replaying any that are
+     * still retained. Pass the sequence of the last event a previous subscription
+     * received to resume without gaps or repeats, or 0 to start from the first event.
+     *
+     * <p>If events after {@code afterSequence} are no longer retained, the subscriber
+     * is failed with an IllegalStateException.
+     *
+     * @param subscriber    the subscriber
+     * @param afterSequence the sequence number to continue after
+     */
+    public void subscribe(Flow.Subscriber<? super TaskEvent> subscriber, long afterSequence) {
+        EventSubscription subscription = new EventSubscription(subscriber, Math.max(afterSequence, 0) + 1);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        subscription.signal();
+    }
+
+    /**
+     * Returns the sequence number of the latest event, or 0 if none was published yet.
+     *
+     * @return the latest sequence number
+     */
+    public synchronized long latestSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Appends an event for a change and wakes the subscribers.
+     */
+    void publish(TaskEvent.Type type, Task task, TaskStatus previousStatus) {
+        synchronized (this) {
+            long sequence = nextSequence++;
+            ring[(int) (sequence % ring.length)] = new TaskEvent(sequence, type, task.readOnlyCopy(), previousStatus);
+        }
+        for (EventSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    /**
+     * Completes every subscription once it has received the events already published.
+     */
+    void close() {
+        closed = true;
+        for (EventSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    /**
+     * Returns the event with the given sequence number, or null if it has not been
+     * published yet or has already been overwritten.
+     */
+    private synchronized TaskEvent eventAt(long sequence) {
+        if (sequence >= nextSequence || sequence < nextSequence - ring.length) {
+            return null;
+        }
+        return ring[(int) (sequence % ring.length)];
+    }
+
+    /**
+     * One subscriber's position in the feed and outstanding demand. Delivery runs in
+     * {@link #drain()}, which at most one executor task executes at a time.
+     */
+    private final class EventSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super TaskEvent> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private long next;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        EventSubscription(Flow.Subscriber<? super TaskEvent> subscriber, long next) {
+            this.subscriber = subscriber;
+            this.next = next;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested event count must be positive: " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void signal() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                deliver();
+                missed = pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            while (!cancelled) {
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                long latest = latestSequence();
+                if (next > latest) {
+                    if (closed) {
+                        cancel();
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                if (requested.get() == 0) {
+                    return;
+                }
+                TaskEvent event = eventAt(next);
+                if (event == null) {
+                    fail(new IllegalStateException("Events after sequence " + (next - 1) + " are no longer retained"));
+                    return;
+                }
+                next++;
+                requested.decrementAndGet();
+                try {
+                    subscriber.onNext(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Event subscriber failed, cancelling its subscription: {}", e.getMessage());
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        private void fail(Throwable error) {
+            cancel();
+            subscriber.onError(error);
+        }
+    }
+}
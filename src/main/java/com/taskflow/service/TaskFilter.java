@@ -0,0 +1,205 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A condition on tasks, for use in a {@link TaskQuery}. Conditions are built with the
+ * static factory methods and combined with {@link #and} and {@link #or}.
+ */
+public sealed interface TaskFilter {
+
+    /**
+     * Returns whether the task satisfies this condition.
+     *
+     * @param task the task to check
+     * @return true if the task matches
+     */
+    boolean test(Task task);
+
+    /**
+     * Matches every task.
+     *
+     * @return the filter
+     */
+    static TaskFilter all() {
+        return All.INSTANCE;
+    }
+
+    /**
+     * Matches tasks with the given status.
+     *
+     * @param status the status to match
+     * @return the filter
+     */
+    static TaskFilter status(TaskStatus status) {
+        return new StatusIs(Objects.requireNonNull(status, "status"));
+    }
+
+    /**
+     * Matches tasks whose ID lies in the given range, both ends included.
+     *
+     * @param from the lowest ID to match
+     * @param to   the highest ID to match
+     * @return the filter
+     */
+    static TaskFilter idBetween(int from, int to) {
+        return new IdBetween(from, to);
+    }
+
+    /**
+     * Matches tasks created at or after {@code from} and before {@code to}. Either
+     * bound may be null to leave that side open.
+     *
+     * @param from the earliest creation time to match, or null
+     * @param to   the creation time to stop before, or null
+     * @return the filter
+     */
+    static TaskFilter createdBetween(LocalDateTime from, LocalDateTime to) {
+        return new CreatedBetween(from, to);
+    }
+
+    /**
+     * Matches tasks whose title or description contains any word of the query,
+     * ignoring case, as {@link TaskService#searchTasks(String)} does.
+     *
+     * @param query the words to search for
+     * @return the filter
+     */
+    static TaskFilter text(String query) {
+        return new TextMatches(Objects.requireNonNull(query, "query"));
+    }
+
+    /**
+     * Matches tasks that satisfy both this condition and the other.
+     *
+     * @param other the other condition
+     * @return the combined filter
+     */
+    default TaskFilter and(TaskFilter other) {
+        return new And(List.of(this, other));
+    }
+
+    /**
+     * Matches tasks that satisfy this condition, the other, or both.
+     *
+     * @param other the other condition
+     * @return the combined filter
+     */
+    default TaskFilter or(TaskFilter other) {
+        return new Or(List.of(this, other));
+    }
+
+    enum All implements TaskFilter {
+        INSTANCE;
+
+        @Override
+        public boolean test(Task task) {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "all";
+        }
+    }
+
+    record StatusIs(TaskStatus status) implements TaskFilter {
+        @Override
+        public boolean test(Task task) {
+            return task.getStatus() == status;
+        }
+
+        @Override
+        public String toString() {
+            return "status=" + status;
+        }
+    }
+
+    record IdBetween(int from, int to) implements TaskFilter {
+        @Override
+        public boolean test(Task task) {
+            return task.getId() >= from && task.getId() <= to;
+        }
+
+        @Override
+        public String toString() {
+            return "id in [" + from + ", " + to + "]";
+        }
+    }
+
+    record CreatedBetween(LocalDateTime from, LocalDateTime to) implements TaskFilter {
+        @Override
+        public boolean test(Task task) {
+            LocalDateTime createdAt = task.getCreatedAt();
+            return (from == null || !createdAt.isBefore(from)) && (to == null || createdAt.isBefore(to));
+        }
+
+        @Override
+        public String toString() {
+            return "createdAt in [" + from + ", " + to + ")";
+        }
+    }
+
+    record TextMatches(String query) implements TaskFilter {
+        @Override
+        public boolean test(Task task) {
+            Set<String> terms = TextIndex.tokenize(query);
+            return !Collections.disjoint(terms, TextIndex.tokenize(task.getTitle()))
+                    || !Collections.disjoint(terms, TextIndex.tokenize(task.getDescription()));
+        }
+
+        @Override
+        public String toString() {
+            return "text~'" + query + "'";
+        }
+    }
+
+    record And(List<TaskFilter> parts) implements TaskFilter {
+        public And {
+            parts = List.copyOf(parts);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (TaskFilter part : parts) {
+                if (!part.test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + String.join(" AND ", parts.stream().map(Object::toString).toList()) + ")";
+        }
+    }
+
+    record Or(List<TaskFilter> parts) implements TaskFilter {
+        public Or {
+            parts = List.copyOf(parts);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (TaskFilter part : parts) {
+                if (part.test(task)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + String.join(" OR ", parts.stream().map(Object::toString).toList()) + ")";
+        }
+    }
+}
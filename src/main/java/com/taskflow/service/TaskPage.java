@@ -0,0 +1,24 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * One page of tasks in ID order, and the cursor to pass for the page after it.
+ *
+ * @param tasks      the tasks on this page
+ * @param nextCursor the ID to continue after, or empty if this is the last page
+ */
+public record TaskPage(List<Task> tasks, OptionalInt nextCursor) {
+
+    /**
+     * Returns whether more tasks follow this page.
+     *
+     * @return true if {@link #nextCursor()} is present
+     */
+    public boolean hasNext() {
+        return nextCursor.isPresent();
+    }
+}
@@ -0,0 +1,99 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A query over the tasks of a TaskService: a filter, an order and a maximum number of
+ * results. Queries are immutable; {@link #orderBy} and {@link #limit} return new ones.
+ *
+ * <pre>{@code
+ * TaskQuery query = TaskQuery.where(TaskFilter.status(TaskStatus.TODO).and(TaskFilter.text("report")))
+ *         .orderBy(TaskQuery.Sort.CREATED_AT, true)
+ *         .limit(10);
+ * }</pre>
+ *
+ * @param filter     the condition results must satisfy
+ * @param sort       the order of the results
+ * @param descending whether to reverse the order
+ * @param limit      the maximum number of results
+ */
+public record TaskQuery(TaskFilter filter, Sort sort, boolean descending, int limit) {
+
+    /**
+     * Orders for query results. Ties are broken by ID.
+     */
+    public enum Sort {
+        ID(Comparator.comparingInt(Task::getId)),
+        CREATED_AT(Comparator.comparing(Task::getCreatedAt).thenComparingInt(Task::getId)),
+        TITLE(Comparator.comparing(Task::getTitle, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Task::getId));
+
+        private final Comparator<Task> comparator;
+
+        Sort(Comparator<Task> comparator) {
+            this.comparator = comparator;
+        }
+
+        Comparator<Task> comparator() {
+            return comparator;
+        }
+    }
+
+    public TaskQuery {
+        Objects.requireNonNull(filter, "filter");
+        Objects.requireNonNull(sort, "sort");
+        if (limit < 1) {
+            throw new IllegalArgumentException("Query limit must be positive: " + limit);
+        }
+    }
+
+    /**
+     * Creates a query for the tasks matching the filter, in ID order, without a limit.
+     *
+     * @param filter the condition results must satisfy
+     * @return the query
+     */
+    public static TaskQuery where(TaskFilter filter) {
+        return new TaskQuery(filter, Sort.ID, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns this query with results in the given ascending order.
+     *
+     * @param sort the order
+     * @return the new query
+     */
+    public TaskQuery orderBy(Sort sort) {
+        return orderBy(sort, false);
+    }
+
+    /**
+     * Returns this query with results in the given order.
+     *
+     * @param sort       the order
+     * @param descending whether to reverse the order
+     * @return the new query
+     */
+    public TaskQuery orderBy(Sort sort, boolean descending) {
+        return new TaskQuery(filter, sort, descending, limit);
+    }
+
+    /**
+     * Returns this query with at most the given number of results.
+     *
+     * @param limit the maximum number of results
+     * @return the new query
+     */
+    public TaskQuery limit(int limit) {
+        return new TaskQuery(filter, sort, descending, limit);
+    }
+
+    /**
+     * Returns the comparator that puts results in this query's order.
+     */
+    Comparator<Task> comparator() {
+        return descending ? sort.comparator.reversed() : sort.comparator;
+    }
+}
@@ -2,43 +2,218 @@ package com.taskflow.service;
 
 import com.taskflow.model.Task;
 import com.taskflow.model.TaskStatus;
+import com.taskflow.model.VersionedTask;
+import com.taskflow.repository.QueryableTaskRepository;
 import com.taskflow.repository.TaskRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Service class that manages task operations.
  * Provides core business logic for creating, listing, updating, and deleting tasks.
+ *
+ * <p>A service created in concurrent mode may be shared between threads. Queries then
+ * share a read lock on the task store, operations on the same task ID are
+ * serialized by a striped lock while different IDs proceed in parallel, and IDs are
+ * allocated atomically. Changes to the same task reach the repository in the order
+ * they were made; changes to different tasks are written concurrently, outside any
+ * service lock, so a repository with group commit can combine them into one write.
+ *
+ * <p>Every task has a version that starts at 1 and grows by one with each change made
+ * through the service. Queries and changes return read-only copies, so a task can
+ * only change through the service, and with it its version. {@link #getVersionedTask}
+ * reads a task with its version, and {@link #compareAndSet} applies a change only if the task is still at the version it
+ * was read at, so writers can read, change and retry without holding a lock between
+ * the read and the write. Versions are kept in memory and start over at 1 on reload.
  */
-public class TaskService {
+public class TaskService implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
-    private final List<Task> tasks;
+    private static final int LOCK_STRIPES = 64;
+
+    /** Number of recent change events kept for subscribers to catch up on. */
+    private static final int EVENT_RETENTION = 4096;
+
+    /** Largest page {@link #getTasksPage(int, int, TaskStatus)} returns. */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final TaskStore store;
+
+    /**
+     * Repository that receives change sets; null in in-memory mode and when the store
+     * writes through to a queryable repository itself.
+     */
     private final TaskRepository repository;
-    private int nextId;
+    private final WriteBehindPersister writeBehind;
+    private final AtomicInteger nextId;
+
+    /** Serializes the check-then-act operations on each task ID. */
+    private final ReentrantLock[] idLocks = newIdLocks();
+
+    /** Guards the pending changes and the IDs being written; held only to hand changes over. */
+    private final Object persistLock = new Object();
+    private TaskChanges pendingChanges = new TaskChanges();
+    /** IDs whose changes a thread is writing; a later change to one waits for that write. */
+    private final Set<Integer> writingIds = new HashSet<>();
+
+    private final TaskEventFeed events = new TaskEventFeed(EVENT_RETENTION, ForkJoinPool.commonPool());
+    private final TaskStats stats = new TaskStats();
+
+    /** Versions of the tasks changed since they were created or loaded; others are at 1. */
+    private final ConcurrentMap<Integer, Long> versions = new ConcurrentHashMap<>();
 
     public TaskService() {
-        this.tasks = new ArrayList<>();
+        this(false);
+    }
+
+    /**
+     * Creates a service that keeps tasks in memory only.
+     *
+     * @param concurrent whether the service may be shared between threads
+     */
+    public TaskService(boolean concurrent) {
+        this(StorageEngine.OBJECTS, concurrent);
+    }
+
+    /**
+     * Creates a service that keeps tasks in memory only, in the given storage engine.
+     *
+     * @param engine     how tasks are kept in memory
+     * @param concurrent whether the service may be shared between threads
+     */
+    public TaskService(StorageEngine engine, boolean concurrent) {
+        TaskStore tasks = newStore(engine);
+        this.store = concurrent ? new ConcurrentTaskStore(tasks) : tasks;
         this.repository = null;
-        this.nextId = 1;
-        logger.info("TaskService initialized (in-memory mode)");
+        this.writeBehind = null;
+        this.nextId = new AtomicInteger(1);
+        logger.info("TaskService initialized (in-memory mode, engine: {}, concurrent: {})", engine, concurrent);
     }
 
+    /**
+     * Creates a service backed by the given repository. A QueryableTaskRepository is
+     * used directly: nothing is loaded up front, queries are answered by the repository
+     * and every change is written through to it. Any other repository is loaded into
+     * memory once and receives the changes afterwards.
+     *
+     * @param repository the repository to load from and persist to
+     */
     public TaskService(TaskRepository repository) {
+        this(repository, null, null, false);
+    }
+
+    /**
+     * Creates a service backed by the given repository, as {@link #TaskService(TaskRepository)}.
+     *
+     * @param repository the repository to load from and persist to
+     * @param concurrent whether the service may be shared between threads
+     */
+    public TaskService(TaskRepository repository, boolean concurrent) {
+        this(repository, null, null, concurrent);
+    }
+
+    /**
+     * Creates a service that loads the given repository into the given storage engine
+     * and persists changes to it. Unlike {@link #TaskService(TaskRepository)}, a
+     * QueryableTaskRepository is loaded into memory too.
+     *
+     * @param repository the repository to load from and persist to
+     * @param engine     how tasks are kept in memory
+     * @param concurrent whether the service may be shared between threads
+     */
+    public TaskService(TaskRepository repository, StorageEngine engine, boolean concurrent) {
+        this(repository, null, Objects.requireNonNull(engine, "engine"), concurrent);
+    }
+
+    /**
+     * Creates a service in write-behind mode. Mutations return without waiting for
+     * disk I/O; a background flusher coalesces them and writes the changes every
+     * {@code flushInterval}, or as soon as {@code dirtyThreshold} mutations are pending.
+     * Call {@link #flush()} or {@link #close()} to make sure everything is written.
+     *
+     * @param repository     the repository to persist to
+     * @param flushInterval  maximum time a mutation stays unwritten
+     * @param dirtyThreshold number of pending mutations that triggers an early write
+     */
+    public TaskService(TaskRepository repository, Duration flushInterval, int dirtyThreshold) {
+        // Write-behind always works on an in-memory copy, even for a queryable repository.
+        this(repository, new WriteBehindPersister(repository, flushInterval, dirtyThreshold), null, false);
+    }
+
+    /**
+     * @param engine the in-memory engine, or null to use the repository directly if it
+     *               is queryable and OBJECTS otherwise
+     */
+    private TaskService(TaskRepository repository, WriteBehindPersister writeBehind, StorageEngine engine,
+                        boolean concurrent) {
+        this.writeBehind = writeBehind;
+        if (engine == null && writeBehind == null && repository instanceof QueryableTaskRepository queryable) {
+            // The repository synchronizes its own access, so the store needs no locking.
+            this.store = new RepositoryTaskStore(queryable);
+            this.repository = null;
+            this.nextId = new AtomicInteger(store.maxId() + 1);
+            // One streaming pass seeds the statistics; the tasks are not kept.
+            queryable.forEachTask(stats::added);
+            logger.info("TaskService initialized with queryable repository, {} tasks stored", store.size());
+            return;
+        }
+
         this.repository = repository;
-        this.tasks = new ArrayList<>(repository.loadAll());
-        this.nextId = tasks.stream()
-                .mapToInt(Task::getId)
-                .max()
-                .orElse(0) + 1;
-        logger.info("TaskService initialized with repository, loaded {} tasks", tasks.size());
+        StorageEngine storage = engine == null ? StorageEngine.OBJECTS : engine;
+        TaskStore loaded = newStore(storage);
+        RuntimeException[] storeFailure = new RuntimeException[1];
+        try {
+            // Load as one batch, so the tasks are published as a single snapshot.
+            loaded.applyBatch(target -> repository.forEachTask(task -> {
+                try {
+                    target.add(task);
+                } catch (RuntimeException e) {
+                    storeFailure[0] = e;
+                    throw e;
+                }
+            }));
+        } catch (RuntimeException e) {
+            if (storeFailure[0] != null) {
+                // The tasks were read but the engine cannot hold them; starting empty would
+                // overwrite them with the next save.
+                throw new IllegalStateException("Failed to load tasks into the " + storage + " engine: "
+                        + storeFailure[0].getMessage(), storeFailure[0]);
+            }
+            logger.error("Failed to load tasks, starting with an empty list: {}", e.getMessage());
+            loaded = newStore(storage);
+        }
+        this.store = concurrent ? new ConcurrentTaskStore(loaded) : loaded;
+        this.nextId = new AtomicInteger(loaded.maxId() + 1);
+        loaded.findAll().forEach(stats::added);
+        logger.info("TaskService initialized with repository ({} engine), loaded {} tasks", storage, store.size());
+    }
+
+    private static TaskStore newStore(StorageEngine engine) {
+        return switch (engine) {
+            case OBJECTS -> new InMemoryTaskStore();
+            case COLUMNAR -> new ColumnarTaskStore();
+            case OFF_HEAP -> new OffHeapTaskStore();
+        };
     }
 
     /**
@@ -46,65 +221,209 @@ public class TaskService {
      *
      * @param title       the task title (required)
      * @param description the task description (optional)
-     * @return the created task
+     * @return a read-only copy of the created task
      * @throws IllegalArgumentException if title is null or empty
      */
     public Task addTask(String title, String description) {
         logger.info("Creating task: '{}'", title);
-        Task task = new Task(nextId++, title, description);
-        tasks.add(task);
-        persist();
+        Task task = new Task(nextId.getAndIncrement(), title, description);
+        ReentrantLock lock = lockFor(task.getId());
+        lock.lock();
+        try {
+            store.add(task);
+            persistChange(task);
+            recordChange(TaskEvent.Type.CREATED, task, null);
+        } finally {
+            lock.unlock();
+        }
         logger.info("Task created with ID: {}", task.getId());
-        return task;
+        return task.readOnlyCopy();
     }
 
     /**
-     * Returns an unmodifiable list of all tasks.
+     * Returns an unmodifiable list of all tasks, in ID order. The list is a snapshot:
+     * later changes do not show up in it, and its tasks are read-only copies.
      *
      * @return list of all tasks
      */
     public List<Task> getAllTasks() {
+        List<Task> tasks = store.findAll();
         logger.debug("Fetching all tasks, count: {}", tasks.size());
-        return Collections.unmodifiableList(tasks);
+        return tasks;
+    }
+
+    /**
+     * Returns an immutable snapshot of all tasks as of the latest change. Taking a
+     * snapshot costs nothing in memory mode: each change publishes a new version that
+     * shares all unchanged structure with the one before, so a long-running report can
+     * iterate a consistent view, without locking, while writers carry on.
+     *
+     * @return the latest snapshot
+     */
+    public TaskSnapshot snapshot() {
+        return store.snapshot();
+    }
+
+    /**
+     * Returns the feed of changes made through this service. Subscribers receive a
+     * numbered event for every task created, status change, edit and deletion, in the
+     * order the changes were made, at the pace of their own demand; see
+     * {@link TaskEventFeed} for buffering and resuming. Sequence numbers start at 1
+     * for each service instance.
+     *
+     * @return the change feed
+     */
+    public TaskEventFeed events() {
+        return events;
+    }
+
+    /**
+     * Returns a page of tasks in ID order, starting after the given cursor.
+     *
+     * @param afterId the cursor: 0 for the first page, then the page's next cursor
+     * @param limit   the maximum number of tasks on the page
+     * @return the page and the cursor of the page after it
+     * @throws IllegalArgumentException if the limit is not between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    public TaskPage getTasksPage(int afterId, int limit) {
+        return getTasksPage(afterId, limit, null);
+    }
+
+    /**
+     * Returns a page of the tasks with the given status, in ID order, starting after
+     * the given cursor. Only the tasks of the page are read, so a page costs the same
+     * however many tasks are stored; tasks added or removed between calls never cause
+     * a task to be skipped or repeated.
+     *
+     * @param afterId the cursor: 0 for the first page, then the page's next cursor
+     * @param limit   the maximum number of tasks on the page
+     * @param status  the status to filter by, or null for all tasks
+     * @return the page and the cursor of the page after it
+     * @throws IllegalArgumentException if the limit is not between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    public TaskPage getTasksPage(int afterId, int limit, TaskStatus status) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        // Fetch one extra task to learn whether another page follows.
+        List<Task> tasks = readOnly(store.findPage(afterId, limit + 1, status));
+        if (tasks.size() <= limit) {
+            logger.debug("Fetched last page after ID {}, count: {}", afterId, tasks.size());
+            return new TaskPage(Collections.unmodifiableList(tasks), OptionalInt.empty());
+        }
+        List<Task> page = tasks.subList(0, limit);
+        logger.debug("Fetched page after ID {}, count: {}", afterId, limit);
+        return new TaskPage(Collections.unmodifiableList(page), OptionalInt.of(page.get(limit - 1).getId()));
     }
 
     /**
      * Finds a task by its ID.
      *
      * @param id the task ID
-     * @return Optional containing the task if found
+     * @return Optional containing a read-only copy of the task if found
      */
     public Optional<Task> getTaskById(int id) {
-        return tasks.stream()
-                .filter(task -> task.getId() == id)
-                .findFirst();
+        return store.findById(id).map(Task::readOnlyCopy);
+    }
+
+    /**
+     * Finds a task by its ID, as an immutable state with its current version.
+     *
+     * @param id the task ID
+     * @return Optional containing the task if found
+     */
+    public Optional<VersionedTask> getVersionedTask(int id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            return store.findById(id).map(task -> VersionedTask.of(task, versionOf(id)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the title, description and status of a task to those of the given state,
+     * if the task is still at the state's version. Status changes follow the rules of
+     * {@link #startTask} and {@link #completeTask}, and a task cannot move back to TODO.
+     * Only the ID's lock is held, and only while the version is checked and the change
+     * applied.
+     *
+     * @param updated the new state, derived from the task at its current version
+     * @return the task as stored, with its new version, or empty if the task changed
+     *         after the state's version was read
+     * @throws IllegalArgumentException if the task is not found
+     * @throws IllegalStateException    if the status transition is invalid
+     */
+    public Optional<VersionedTask> compareAndSet(VersionedTask updated) {
+        int id = updated.id();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Task task = requireTask(id);
+            long current = versionOf(id);
+            if (updated.version() != current) {
+                logger.debug("Rejected update of task {} at version {}, now at {}", id, updated.version(), current);
+                return Optional.empty();
+            }
+
+            TaskStatus previous = task.getStatus();
+            boolean statusChanged = updated.status() != previous;
+            boolean textChanged = !updated.title().equals(task.getTitle())
+                    || !updated.description().equals(task.getDescription());
+            if (statusChanged) {
+                checkCanMove(task, previous, updated.status());
+            }
+            if (!statusChanged && !textChanged) {
+                return Optional.of(VersionedTask.of(task, current));
+            }
+
+            if (textChanged) {
+                store.setText(task, updated.title(), updated.description());
+            }
+            if (statusChanged) {
+                store.setStatus(task, updated.status());
+            }
+            persistChange(task);
+            bumpVersion(id);
+            if (textChanged) {
+                recordChange(TaskEvent.Type.UPDATED, task, null);
+            }
+            if (statusChanged) {
+                recordChange(TaskEvent.Type.STATUS_CHANGED, task, previous);
+            }
+            return Optional.of(VersionedTask.of(task, versionOf(id)));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Marks a task as complete (DONE).
      *
      * @param id the task ID
-     * @return the updated task
+     * @return a read-only copy of the updated task
      * @throws IllegalArgumentException if the task is not found
      * @throws IllegalStateException    if the task is already completed
      */
     public Task completeTask(int id) {
         logger.info("Marking task {} as complete", id);
-        Task task = getTaskById(id)
-                .orElseThrow(() -> {
-                    logger.error("Task not found with ID: {}", id);
-                    return new IllegalArgumentException("Task not found with ID: " + id);
-                });
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Task task = requireTask(id);
 
-        if (task.getStatus() == TaskStatus.DONE) {
-            logger.warn("Task {} is already completed", id);
-            throw new IllegalStateException("Task is already completed: " + task.getTitle());
+            TaskStatus previous = task.getStatus();
+            checkCanComplete(task, previous);
+            store.setStatus(task, TaskStatus.DONE);
+            persistChange(task);
+            bumpVersion(id);
+            recordChange(TaskEvent.Type.STATUS_CHANGED, task, previous);
+            logger.info("Task {} marked as DONE", id);
+            return task.readOnlyCopy();
+        } finally {
+            lock.unlock();
         }
-
-        task.setStatus(TaskStatus.DONE);
-        persist();
-        logger.info("Task {} marked as DONE", id);
-        return task;
     }
 
     /**
@@ -115,64 +434,471 @@ public class TaskService {
      */
     public List<Task> getTasksByStatus(TaskStatus status) {
         logger.info("Filtering tasks by status: {}", status);
-        List<Task> filtered = tasks.stream()
-                .filter(task -> task.getStatus() == status)
-                .collect(Collectors.toList());
+        List<Task> filtered = readOnly(store.findByStatus(status));
         logger.info("Found {} tasks with status {}", filtered.size(), status);
         return filtered;
     }
 
+    /**
+     * Returns the tasks created in the given time range, oldest first. The range is
+     * looked up in an index ordered by creation time, so it costs O(log n + k) for
+     * k matching tasks.
+     *
+     * @param from the earliest creation time to return (inclusive), or null for no lower bound
+     * @param to   the creation time to stop before (exclusive), or null for no upper bound
+     * @return tasks created in the range
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     */
+    public List<Task> getTasksCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+        List<Task> created = readOnly(store.findCreatedBetween(from, to));
+        logger.debug("Found {} tasks created between {} and {}", created.size(), from, to);
+        return created;
+    }
+
+    /**
+     * Searches task titles and descriptions for any of the given words, ignoring case.
+     * Tasks matching more, rarer words rank first, and a match in the title counts
+     * more than one in the description.
+     *
+     * @param query the words to search for
+     * @return matching tasks, best match first
+     */
+    public List<Task> searchTasks(String query) {
+        logger.info("Searching tasks for: '{}'", query);
+        List<Task> matches = readOnly(store.search(query));
+        logger.info("Found {} tasks matching '{}'", matches.size(), query);
+        return matches;
+    }
+
+    /**
+     * Runs a query. The most selective index that covers part of the filter (status,
+     * ID range or text) supplies the candidates, which are then checked against the
+     * whole filter; without a suitable index the tasks are scanned once.
+     *
+     * @param query the filter, order and limit
+     * @return matching tasks, in the query's order
+     */
+    public List<Task> query(TaskQuery query) {
+        List<Task> results = readOnly(store.query(query));
+        logger.debug("Query {} returned {} task(s)", query.filter(), results.size());
+        return results;
+    }
+
+    /**
+     * Describes how {@link #query(TaskQuery)} would run the query: the index or scan
+     * used to find candidates, and the filter, order and limit applied to them.
+     *
+     * @param query the query
+     * @return a one-line plan description
+     */
+    public String explain(TaskQuery query) {
+        return store.explain(query);
+    }
+
+    /**
+     * Returns the number of tasks with the given status.
+     *
+     * @param status the status to count
+     * @return task count for the status
+     */
+    public int getTaskCountByStatus(TaskStatus status) {
+        return store.countByStatus(status);
+    }
+
     /**
      * Deletes a task by its ID.
      *
      * @param id the task ID
-     * @return the deleted task
+     * @return a read-only copy of the deleted task
      * @throws IllegalArgumentException if the task is not found
      */
     public Task deleteTask(int id) {
         logger.info("Deleting task with ID: {}", id);
-        Task task = getTaskById(id)
-                .orElseThrow(() -> {
-                    logger.error("Cannot delete: task not found with ID: {}", id);
-                    return new IllegalArgumentException("Task not found with ID: " + id);
-                });
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Task task = store.findById(id)
+                    .orElseThrow(() -> {
+                        logger.error("Cannot delete: task not found with ID: {}", id);
+                        return new IllegalArgumentException("Task not found with ID: " + id);
+                    });
 
-        tasks.remove(task);
-        persist();
-        logger.info("Task {} deleted: '{}'", id, task.getTitle());
-        return task;
+            store.remove(task);
+            persistDeletion(id);
+            recordChange(TaskEvent.Type.DELETED, task, null);
+            logger.info("Task {} deleted: '{}'", id, task.getTitle());
+            return task.readOnlyCopy();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Updates a task's status to IN_PROGRESS.
      *
      * @param id the task ID
-     * @return the updated task
+     * @return a read-only copy of the updated task
      * @throws IllegalArgumentException if the task is not found
      * @throws IllegalStateException    if the status transition is invalid
      */
     public Task startTask(int id) {
         logger.info("Setting task {} to IN_PROGRESS", id);
-        Task task = getTaskById(id)
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Task task = requireTask(id);
+
+            TaskStatus previous = task.getStatus();
+            checkCanStart(task, previous);
+            store.setStatus(task, TaskStatus.IN_PROGRESS);
+            persistChange(task);
+            bumpVersion(id);
+            recordChange(TaskEvent.Type.STATUS_CHANGED, task, previous);
+            logger.info("Task {} set to IN_PROGRESS", id);
+            return task.readOnlyCopy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the title of a task.
+     *
+     * @param id    the task ID
+     * @param title the new title (required)
+     * @return a read-only copy of the updated task
+     * @throws IllegalArgumentException if the task is not found or the title is null or empty
+     */
+    public Task updateTitle(int id, String title) {
+        logger.info("Renaming task {} to '{}'", id, title);
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Task task = requireTask(id);
+            store.setText(task, title, task.getDescription());
+            persistChange(task);
+            bumpVersion(id);
+            recordChange(TaskEvent.Type.UPDATED, task, null);
+            return task.readOnlyCopy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the description of a task.
+     *
+     * @param id          the task ID
+     * @param description the new description (optional)
+     * @return a read-only copy of the updated task
+     * @throws IllegalArgumentException if the task is not found
+     */
+    public Task updateDescription(int id, String description) {
+        logger.info("Updating description of task {}", id);
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Task task = requireTask(id);
+            store.setText(task, task.getTitle(), description);
+            persistChange(task);
+            bumpVersion(id);
+            recordChange(TaskEvent.Type.UPDATED, task, null);
+            return task.readOnlyCopy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates several tasks at once, as one batch.
+     *
+     * @param drafts titles and descriptions of the tasks to create
+     * @return the created tasks, in the given order
+     * @throws IllegalArgumentException if any title is null or empty; no task is created then
+     * @see #batch(Consumer)
+     */
+    public List<Task> addTasks(List<TaskDraft> drafts) {
+        return batch(batch -> drafts.forEach(draft -> batch.add(draft.title(), draft.description())));
+    }
+
+    /**
+     * Marks several tasks as complete at once, as one batch.
+     *
+     * @param ids the task IDs
+     * @return the updated tasks, in the given order
+     * @throws IllegalArgumentException if any task is not found; no task is changed then
+     * @throws IllegalStateException    if any task is already completed; no task is changed then
+     * @see #batch(Consumer)
+     */
+    public List<Task> completeTasks(int[] ids) {
+        return batch(batch -> {
+            for (int id : ids) {
+                batch.complete(id);
+            }
+        });
+    }
+
+    /**
+     * Deletes several tasks at once, as one batch.
+     *
+     * @param ids the task IDs
+     * @return the deleted tasks, in the given order
+     * @throws IllegalArgumentException if any task is not found; no task is deleted then
+     * @see #batch(Consumer)
+     */
+    public List<Task> deleteTasks(int[] ids) {
+        return batch(batch -> {
+            for (int id : ids) {
+                batch.delete(id);
+            }
+        });
+    }
+
+    /**
+     * Applies a group of operations as one unit. Every operation is checked first,
+     * against the state left by the operations before it, with the same rules as the
+     * single-task methods; if any check fails nothing is applied. Otherwise all
+     * operations are applied together and the resulting changes are persisted in a
+     * single repository write.
+     *
+     * @param operations receives the batch to record the operations in
+     * @return read-only copies of the task each operation applied to, in order
+     * @throws IllegalArgumentException if a title is invalid or a task is not found
+     * @throws IllegalStateException    if a status transition is invalid
+     */
+    public List<Task> batch(Consumer<TaskBatch> operations) {
+        TaskBatch batch = new TaskBatch();
+        operations.accept(batch);
+        List<TaskBatch.Operation> ops = batch.operations();
+        if (ops.isEmpty()) {
+            return List.of();
+        }
+
+        // Check the batch before reserving IDs, so a rejected batch leaves no gap. The
+        // check is repeated under the locks, since the tasks may change in between.
+        planBatch(ops, nextId.get());
+        int added = (int) ops.stream().filter(op -> op.kind() == TaskBatch.Kind.ADD).count();
+        int firstId = nextId.getAndAdd(added);
+        List<ReentrantLock> locks = lockAll(ops, firstId, added);
+        try {
+            List<Task> tasks;
+            try {
+                tasks = planBatch(ops, firstId);
+            } catch (RuntimeException e) {
+                // Give the IDs back unless another caller has reserved some since.
+                nextId.compareAndSet(firstId + added, firstId);
+                throw e;
+            }
+            List<TaskEvent> changes = new ArrayList<>(ops.size());
+            store.applyBatch(target -> {
+                for (int i = 0; i < ops.size(); i++) {
+                    Task task = tasks.get(i);
+                    TaskStatus previous = task.getStatus();
+                    switch (ops.get(i).kind()) {
+                        case ADD -> target.add(task);
+                        case START -> target.setStatus(task, TaskStatus.IN_PROGRESS);
+                        case COMPLETE -> target.setStatus(task, TaskStatus.DONE);
+                        case DELETE -> target.remove(task);
+                    }
+                    changes.add(eventFor(ops.get(i).kind(), task, previous));
+                }
+            });
+            persistBatch(ops, tasks);
+            batchChangedIds(ops).forEach(this::bumpVersion);
+            changes.forEach(change -> recordChange(change.type(), change.task(), change.previousStatus()));
+            logger.info("Applied batch of {} operation(s)", ops.size());
+            return readOnly(tasks);
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the IDs of the existing tasks a batch changed and did not delete; each
+     * moves on one version, however many of its operations applied to it.
+     */
+    private static Set<Integer> batchChangedIds(List<TaskBatch.Operation> ops) {
+        Set<Integer> changed = new HashSet<>();
+        for (TaskBatch.Operation op : ops) {
+            switch (op.kind()) {
+                case START, COMPLETE -> changed.add(op.id());
+                case DELETE -> changed.remove(op.id());
+                case ADD -> { }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Checks every operation of a batch without changing anything, and resolves the
+     * task each one applies to. New tasks get consecutive IDs from {@code firstId}.
+     */
+    private List<Task> planBatch(List<TaskBatch.Operation> ops, int firstId) {
+        Map<Integer, Task> touched = new HashMap<>();
+        Map<Integer, TaskStatus> statuses = new HashMap<>();
+        Set<Integer> deleted = new HashSet<>();
+        List<Task> tasks = new ArrayList<>(ops.size());
+        int newId = firstId;
+
+        for (TaskBatch.Operation op : ops) {
+            if (op.kind() == TaskBatch.Kind.ADD) {
+                Task task = new Task(newId++, op.draft().title(), op.draft().description());
+                touched.put(task.getId(), task);
+                tasks.add(task);
+                continue;
+            }
+
+            int id = op.id();
+            Task task = deleted.contains(id) ? null : touched.computeIfAbsent(id, key -> store.findById(key).orElse(null));
+            if (task == null) {
+                logger.error("Task not found with ID: {}", id);
+                throw new IllegalArgumentException("Task not found with ID: " + id);
+            }
+            TaskStatus status = statuses.getOrDefault(id, task.getStatus());
+            switch (op.kind()) {
+                case START -> {
+                    checkCanStart(task, status);
+                    statuses.put(id, TaskStatus.IN_PROGRESS);
+                }
+                case COMPLETE -> {
+                    checkCanComplete(task, status);
+                    statuses.put(id, TaskStatus.DONE);
+                }
+                case DELETE -> deleted.add(id);
+                default -> throw new IllegalStateException("Unexpected operation: " + op.kind());
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Locks the stripes of every ID a batch touches, in stripe order so that two
+     * batches can never wait on each other.
+     */
+    private List<ReentrantLock> lockAll(List<TaskBatch.Operation> ops, int firstId, int added) {
+        boolean[] needed = new boolean[LOCK_STRIPES];
+        for (TaskBatch.Operation op : ops) {
+            if (op.kind() != TaskBatch.Kind.ADD) {
+                needed[op.id() & (LOCK_STRIPES - 1)] = true;
+            }
+        }
+        for (int i = 0; i < Math.min(added, LOCK_STRIPES); i++) {
+            needed[(firstId + i) & (LOCK_STRIPES - 1)] = true;
+        }
+
+        List<ReentrantLock> locks = new ArrayList<>();
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            if (needed[stripe]) {
+                idLocks[stripe].lock();
+                locks.add(idLocks[stripe]);
+            }
+        }
+        return locks;
+    }
+
+    /**
+     * Updates the statistics for an applied change and publishes it to the change feed.
+     * Called with the task's ID locked.
+     */
+    private void recordChange(TaskEvent.Type type, Task task, TaskStatus previousStatus) {
+        switch (type) {
+            case CREATED -> stats.added(task);
+            case STATUS_CHANGED -> stats.statusChanged(task, previousStatus, LocalDateTime.now());
+            case DELETED -> {
+                stats.removed(task);
+                versions.remove(task.getId());
+            }
+            case UPDATED -> { }
+        }
+        events.publish(type, task, previousStatus);
+    }
+
+    /**
+     * Moves a changed task to its next version. Called once per operation, however many
+     * fields it changed, with the task's ID locked.
+     */
+    private void bumpVersion(int id) {
+        versions.merge(id, 2L, (version, ignored) -> version + 1);
+    }
+
+    /**
+     * Describes one applied batch operation as an unnumbered event. The task is copied,
+     * since a later operation of the same batch may change it again.
+     */
+    private static TaskEvent eventFor(TaskBatch.Kind kind, Task task, TaskStatus previous) {
+        return switch (kind) {
+            case ADD -> new TaskEvent(0, TaskEvent.Type.CREATED, task.readOnlyCopy(), null);
+            case START, COMPLETE -> new TaskEvent(0, TaskEvent.Type.STATUS_CHANGED, task.readOnlyCopy(), previous);
+            case DELETE -> new TaskEvent(0, TaskEvent.Type.DELETED, task.readOnlyCopy(), null);
+        };
+    }
+
+    /**
+     * Returns the stored task itself, for changing it through the store.
+     */
+    private Task requireTask(int id) {
+        return store.findById(id)
                 .orElseThrow(() -> {
                     logger.error("Task not found with ID: {}", id);
                     return new IllegalArgumentException("Task not found with ID: " + id);
                 });
+    }
+
+    private static List<Task> readOnly(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> copies.add(task.readOnlyCopy()));
+        return Collections.unmodifiableList(copies);
+    }
 
-        if (task.getStatus() == TaskStatus.DONE) {
-            logger.warn("Cannot move completed task {} back to IN_PROGRESS", id);
+    private long versionOf(int id) {
+        return versions.getOrDefault(id, 1L);
+    }
+
+    private static void checkCanMove(Task task, TaskStatus from, TaskStatus to) {
+        switch (to) {
+            case IN_PROGRESS -> checkCanStart(task, from);
+            case DONE -> checkCanComplete(task, from);
+            case TODO -> {
+                logger.warn("Cannot move task {} back to TODO", task.getId());
+                throw new IllegalStateException("Cannot move a task back to TODO. Task: " + task.getTitle());
+            }
+        }
+    }
+
+    private static void checkCanComplete(Task task, TaskStatus status) {
+        if (status == TaskStatus.DONE) {
+            logger.warn("Task {} is already completed", task.getId());
+            throw new IllegalStateException("Task is already completed: " + task.getTitle());
+        }
+    }
+
+    private static void checkCanStart(Task task, TaskStatus status) {
+        if (status == TaskStatus.DONE) {
+            logger.warn("Cannot move completed task {} back to IN_PROGRESS", task.getId());
             throw new IllegalStateException("Cannot move a completed task back to IN_PROGRESS. Task: " + task.getTitle());
         }
 
-        if (task.getStatus() == TaskStatus.IN_PROGRESS) {
-            logger.warn("Task {} is already IN_PROGRESS", id);
+        if (status == TaskStatus.IN_PROGRESS) {
+            logger.warn("Task {} is already IN_PROGRESS", task.getId());
             throw new IllegalStateException("Task is already IN_PROGRESS: " + task.getTitle());
         }
+    }
 
-        task.setStatus(TaskStatus.IN_PROGRESS);
-        persist();
-        logger.info("Task {} set to IN_PROGRESS", id);
-        return task;
+    /**
+     * Returns live statistics about the tasks: counts per status, tasks created per
+     * day and average time to completion. Every change updates them in constant time,
+     * so reading them is cheap enough to poll.
+     *
+     * @return the statistics, which keep changing with the service
+     */
+    public TaskStats getStats() {
+        return stats;
     }
 
     /**
@@ -181,20 +907,170 @@ public class TaskService {
      * @return task count
      */
     public int getTaskCount() {
-        return tasks.size();
+        return store.size();
     }
 
     /**
-     * Persists tasks to the repository if available.
+     * Writes any mutations still pending: those queued in write-behind mode, or in
+     * synchronous mode those whose write failed earlier. Does nothing in in-memory mode.
+     *
+     * @throws IllegalStateException if a pending or earlier background write failed
      */
-    private void persist() {
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+            return;
+        }
         if (repository != null) {
-            try {
-                repository.saveAll(tasks);
-                logger.debug("Tasks persisted to repository");
-            } catch (Exception e) {
-                logger.error("Failed to persist tasks: {}", e.getMessage(), e);
+            RuntimeException failure = writePending();
+            if (failure != null) {
+                throw new IllegalStateException("Failed to persist tasks: " + failure.getMessage(), failure);
+            }
+        }
+    }
+
+    /**
+     * Flushes pending mutations and stops the background flusher in write-behind mode,
+     * and completes the subscriptions to the change feed.
+     *
+     * @throws IllegalStateException if the final or an earlier background write failed
+     */
+    @Override
+    public void close() {
+        try {
+            if (writeBehind != null) {
+                writeBehind.close();
+            }
+        } finally {
+            events.close();
+        }
+    }
+
+    private static ReentrantLock[] newIdLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private ReentrantLock lockFor(int id) {
+        return idLocks[id & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Records that a task was added or changed and persists it if a repository is available.
+     */
+    private void persistChange(Task task) {
+        if (repository != null) {
+            synchronized (persistLock) {
+                pendingChanges.upsert(task);
+            }
+            persist();
+        }
+    }
+
+    /**
+     * Records that a task was removed and persists the removal if a repository is available.
+     */
+    private void persistDeletion(int id) {
+        if (repository != null) {
+            synchronized (persistLock) {
+                pendingChanges.delete(id);
+            }
+            persist();
+        }
+    }
+
+    /**
+     * Records every change of a batch and persists them with a single write.
+     */
+    private void persistBatch(List<TaskBatch.Operation> ops, List<Task> tasks) {
+        if (repository == null) {
+            return;
+        }
+        synchronized (persistLock) {
+            for (int i = 0; i < ops.size(); i++) {
+                if (ops.get(i).kind() == TaskBatch.Kind.DELETE) {
+                    pendingChanges.delete(tasks.get(i).getId());
+                } else {
+                    pendingChanges.upsert(tasks.get(i));
+                }
+            }
+        }
+        persist();
+    }
+
+    /**
+     * Persists the tasks changed since the last successful write. In write-behind mode
+     * the changes are handed to the background flusher; otherwise they are applied
+     * directly, and kept for the next attempt if that fails. Called with the ID locks
+     * of the changed tasks held, but not the persist lock.
+     */
+    private void persist() {
+        if (writeBehind != null) {
+            synchronized (persistLock) {
+                if (!pendingChanges.isEmpty()) {
+                    writeBehind.submit(pendingChanges);
+                    pendingChanges = new TaskChanges();
+                }
+            }
+            return;
+        }
+        RuntimeException failure = writePending();
+        if (failure != null) {
+            logger.error("Failed to persist tasks, will retry with the next change: {}", failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Takes the pending changes and applies them to the repository without holding the
+     * persist lock. Changes touching a task another thread is still writing wait for
+     * that write, so a retried older change can never land after a newer one. Failed
+     * changes go back under any made since.
+     *
+     * @return the failure, or null if the changes were written or there were none
+     */
+    private RuntimeException writePending() {
+        TaskChanges changes;
+        Set<Integer> ids;
+        synchronized (persistLock) {
+            boolean interrupted = false;
+            while (pendingChanges.touchesAny(writingIds)) {
+                try {
+                    persistLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (pendingChanges.isEmpty()) {
+                return null;
+            }
+            changes = pendingChanges;
+            pendingChanges = new TaskChanges();
+            ids = changes.ids();
+            writingIds.addAll(ids);
+        }
+
+        RuntimeException failure = null;
+        try {
+            changes.applyTo(repository);
+            logger.debug("Persisted {} task change(s) to repository", changes.size());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        synchronized (persistLock) {
+            if (failure != null) {
+                changes.mergeNewer(pendingChanges);
+                pendingChanges = changes;
             }
+            writingIds.removeAll(ids);
+            persistLock.notifyAll();
         }
+        return failure;
     }
 }
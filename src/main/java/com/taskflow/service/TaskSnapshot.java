@@ -0,0 +1,81 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An immutable view of all tasks as they were at one version of a TaskService.
+ * Later changes to the service are never visible through a snapshot, and its tasks
+ * are read-only copies, so a snapshot can be read for as long as needed, from any
+ * thread, without locking.
+ */
+public final class TaskSnapshot implements Iterable<Task> {
+
+    private final TaskTrie trie;
+    private final long version;
+    private volatile List<Task> list;
+
+    TaskSnapshot(TaskTrie trie, long version) {
+        this.trie = trie;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the service this snapshot was taken at. Each published
+     * change, or batch of changes, increases the version.
+     *
+     * @return the snapshot version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot.
+     *
+     * @return task count
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Finds a task in the snapshot by its ID.
+     *
+     * @param id the task ID
+     * @return Optional containing the task if it existed at this version
+     */
+    public Optional<Task> getTask(int id) {
+        return Optional.ofNullable(trie.get(id));
+    }
+
+    /**
+     * Returns the tasks in ID order as an unmodifiable list, built on first use.
+     *
+     * @return list of all tasks in the snapshot
+     */
+    public List<Task> tasks() {
+        List<Task> result = list;
+        if (result == null) {
+            List<Task> all = new ArrayList<>(trie.size());
+            trie.forEach(all::add);
+            result = Collections.unmodifiableList(all);
+            list = result;
+        }
+        return result;
+    }
+
+    TaskTrie trie() {
+        return trie;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return tasks().iterator();
+    }
+}
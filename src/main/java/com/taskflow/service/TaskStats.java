@@ -0,0 +1,128 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live statistics about the tasks of a TaskService. The service updates the counters
+ * on every change in constant time, so reading a figure never walks the tasks.
+ * Counters are updated one at a time, so while changes are under way two figures
+ * read one after the other may be a change apart.
+ */
+public final class TaskStats {
+
+    private final LongAdder[] byStatus = new LongAdder[TaskStatus.values().length];
+    private final ConcurrentMap<LocalDate, LongAdder> createdPerDay = new ConcurrentHashMap<>();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder timeToDoneMillis = new LongAdder();
+
+    TaskStats() {
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the number of tasks with the given status.
+     *
+     * @param status the status to count
+     * @return task count for the status
+     */
+    public long getCount(TaskStatus status) {
+        return byStatus[status.ordinal()].sum();
+    }
+
+    /**
+     * Returns the total number of tasks.
+     *
+     * @return task count
+     */
+    public long getTotal() {
+        long total = 0;
+        for (LongAdder count : byStatus) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the share of tasks that are DONE, between 0 and 1.
+     *
+     * @return the completion rate, or 0 if there are no tasks
+     */
+    public double getCompletionRate() {
+        long total = getTotal();
+        return total == 0 ? 0 : (double) getCount(TaskStatus.DONE) / total;
+    }
+
+    /**
+     * Returns the number of current tasks created on the given day.
+     *
+     * @param day the day
+     * @return task count for the day
+     */
+    public long getCreatedOn(LocalDate day) {
+        LongAdder count = createdPerDay.get(day);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the number of current tasks created on each day that has any, by day.
+     *
+     * @return a copy of the histogram
+     */
+    public SortedMap<LocalDate, Long> getCreatedPerDay() {
+        SortedMap<LocalDate, Long> histogram = new TreeMap<>();
+        createdPerDay.forEach((day, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                histogram.put(day, sum);
+            }
+        });
+        return histogram;
+    }
+
+    /**
+     * Returns the average time from creation to completion, over the tasks completed
+     * through the service. Tasks that were already DONE when loaded are not included,
+     * since their completion time is not recorded.
+     *
+     * @return the average, or empty if no task was completed yet
+     */
+    public Optional<Duration> getAverageTimeToDone() {
+        long count = completions.sum();
+        return count == 0 ? Optional.empty() : Optional.of(Duration.ofMillis(timeToDoneMillis.sum() / count));
+    }
+
+    void added(Task task) {
+        byStatus[task.getStatus().ordinal()].increment();
+        createdPerDay.computeIfAbsent(task.getCreatedAt().toLocalDate(), day -> new LongAdder()).increment();
+    }
+
+    void removed(Task task) {
+        byStatus[task.getStatus().ordinal()].decrement();
+        LongAdder count = createdPerDay.get(task.getCreatedAt().toLocalDate());
+        if (count != null) {
+            count.decrement();
+        }
+    }
+
+    void statusChanged(Task task, TaskStatus previous, LocalDateTime at) {
+        byStatus[previous.ordinal()].decrement();
+        byStatus[task.getStatus().ordinal()].increment();
+        if (task.getStatus() == TaskStatus.DONE && previous != TaskStatus.DONE) {
+            completions.increment();
+            timeToDoneMillis.add(Math.max(0, Duration.between(task.getCreatedAt(), at).toMillis()));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The working set of tasks behind a TaskService, and the queries the service runs
+ * against it. Every change to a stored task goes through the store, so
+ * implementations can keep indexes or a backing database in step.
+ */
+interface TaskStore {
+
+    /**
+     * Adds a newly created task.
+     */
+    void add(Task task);
+
+    /**
+     * Changes the status of a stored task.
+     *
+     * @param task   the stored task
+     * @param status the new status
+     */
+    void setStatus(Task task, TaskStatus status);
+
+    /**
+     * Changes the title and description of a stored task.
+     *
+     * @throws IllegalArgumentException if the title is null or empty; the task is left unchanged
+     */
+    void setText(Task task, String title, String description);
+
+    /**
+     * Removes a stored task.
+     */
+    void remove(Task task);
+
+    /**
+     * Runs a group of changes as one unit: concurrent readers see all of them or none,
+     * and a store that writes through to a repository writes them together.
+     *
+     * @param changes receives the store to apply the changes to
+     */
+    void applyBatch(Consumer<TaskStore> changes);
+
+    Optional<Task> findById(int id);
+
+    /**
+     * Returns all tasks in creation order as an unmodifiable list.
+     */
+    List<Task> findAll();
+
+    /**
+     * Returns an immutable snapshot of all tasks as of the latest completed change.
+     */
+    TaskSnapshot snapshot();
+
+    /**
+     * Returns up to {@code limit} tasks with an ID above {@code afterId}, in ID order.
+     *
+     * @param status only return tasks with this status, or null for any status
+     */
+    List<Task> findPage(int afterId, int limit, TaskStatus status);
+
+    List<Task> findByStatus(TaskStatus status);
+
+    int countByStatus(TaskStatus status);
+
+    /**
+     * Returns the tasks created at or after {@code from} and before {@code to}, oldest
+     * first. A null bound leaves that side of the range open.
+     */
+    List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the tasks whose title or description contains any word of the query,
+     * best match first.
+     */
+    List<Task> search(String query);
+
+    /**
+     * Runs a query, using whichever index suits it best.
+     */
+    List<Task> query(TaskQuery query);
+
+    /**
+     * Describes how {@link #query} would run the query.
+     */
+    String explain(TaskQuery query);
+
+    int size();
+
+    /**
+     * Returns the highest stored task ID, or 0 if the store is empty. The value only
+     * seeds ID allocation, so an implementation may keep counting removed tasks.
+     */
+    int maxId();
+}
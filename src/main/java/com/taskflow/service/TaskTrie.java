@@ -0,0 +1,176 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Persistent map from task ID to task, as a 32-way trie over the bits of the ID.
+ * A trie is never changed: {@link #with} and {@link #without} return a new trie that
+ * copies only the nodes on the path to the ID (a few arrays of 32 references) and
+ * shares every other node with the old one. Old tries stay valid, so each version of
+ * the store can be kept as long as a reader needs it.
+ *
+ * <p>Nodes are plain {@code Object[32]} arrays; those on the lowest level hold tasks.
+ * Walking the trie visits tasks in ascending (unsigned) ID order.
+ */
+final class TaskTrie {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /** Shift of a root whose children cover all 32 bits of an ID. */
+    private static final int MAX_SHIFT = 30;
+
+    static final TaskTrie EMPTY = new TaskTrie(null, 0, 0);
+
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+
+    private TaskTrie(Object[] root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Builds a trie holding the given tasks, which must have distinct IDs. Nodes are
+     * filled in place, which is safe because none is shared yet.
+     */
+    static TaskTrie of(Collection<Task> tasks) {
+        int shift = 0;
+        for (Task task : tasks) {
+            while (!covers(shift, task.getId())) {
+                shift += BITS;
+            }
+        }
+        if (tasks.isEmpty()) {
+            return EMPTY;
+        }
+        Object[] root = new Object[WIDTH];
+        for (Task task : tasks) {
+            int id = task.getId();
+            Object[] node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int index = (id >>> level) & MASK;
+                Object[] child = (Object[]) node[index];
+                if (child == null) {
+                    child = new Object[WIDTH];
+                    node[index] = child;
+                }
+                node = child;
+            }
+            node[id & MASK] = task;
+        }
+        return new TaskTrie(root, shift, tasks.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the task with the given ID, or null if there is none.
+     */
+    Task get(int id) {
+        if (root == null || !covers(shift, id)) {
+            return null;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(id >>> level) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (Task) node[id & MASK];
+    }
+
+    /**
+     * Returns a trie that maps the task's ID to the task, replacing any task with that ID.
+     */
+    TaskTrie with(Task task) {
+        int id = task.getId();
+        int newShift = shift;
+        Object[] newRoot = root;
+        while (!covers(newShift, id)) {
+            if (newRoot != null) {
+                Object[] parent = new Object[WIDTH];
+                parent[0] = newRoot;
+                newRoot = parent;
+            }
+            newShift += BITS;
+        }
+        boolean replaced = get(id) != null;
+        return new TaskTrie(put(newRoot, newShift, id, task), newShift, replaced ? size : size + 1);
+    }
+
+    /**
+     * Returns a trie without the task with the given ID, or this trie if there is none.
+     */
+    TaskTrie without(int id) {
+        if (get(id) == null) {
+            return this;
+        }
+        return new TaskTrie(remove(root, shift, id), shift, size - 1);
+    }
+
+    /**
+     * Passes every task to the consumer, in ascending ID order.
+     */
+    void forEach(Consumer<Task> consumer) {
+        if (root != null) {
+            forEach(root, shift, consumer);
+        }
+    }
+
+    private static boolean covers(int shift, int id) {
+        return shift >= MAX_SHIFT || (id >>> (shift + BITS)) == 0;
+    }
+
+    private static Object[] put(Object[] node, int shift, int id, Task task) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int index = (id >>> shift) & MASK;
+        copy[index] = shift == 0 ? task : put((Object[]) copy[index], shift - BITS, id, task);
+        return copy;
+    }
+
+    /**
+     * Copies the path to an ID known to be present, dropping nodes left empty.
+     */
+    private static Object[] remove(Object[] node, int shift, int id) {
+        int index = (id >>> shift) & MASK;
+        Object child = shift == 0 ? null : remove((Object[]) node[index], shift - BITS, id);
+        if (child == null && isOnlyChild(node, index)) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[index] = child;
+        return copy;
+    }
+
+    private static boolean isOnlyChild(Object[] node, int index) {
+        for (int i = 0; i < WIDTH; i++) {
+            if (i != index && node[i] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void forEach(Object[] node, int shift, Consumer<Task> consumer) {
+        for (Object child : node) {
+            if (child == null) {
+                continue;
+            }
+            if (shift == 0) {
+                consumer.accept((Task) child);
+            } else {
+                forEach((Object[]) child, shift - BITS, consumer);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.taskflow.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the title and description of tasks.
+ * Text is split into lower-case words, and each word maps to the IDs of the tasks
+ * containing it together with a term frequency in which title words count double.
+ * Searches rank matching tasks by TF-IDF, so rare words and title hits weigh most.
+ */
+class TextIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    /** Word to (task ID to weighted frequency). */
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private int documents;
+
+    /**
+     * Adds a task's words to the index.
+     */
+    void add(int id, String title, String description) {
+        termFrequencies(title, description).forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+        documents++;
+    }
+
+    /**
+     * Removes a task's words from the index. The text must be the text it was added with.
+     */
+    void remove(int id, String title, String description) {
+        for (String term : termFrequencies(title, description).keySet()) {
+            Map<Integer, Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        documents--;
+    }
+
+    /**
+     * Returns the IDs of tasks containing any of the query words, best match first.
+     * Ties are broken by ID.
+     */
+    List<Integer> search(String query) {
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : tokenize(query)) {
+            Map<Integer, Integer> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            double idf = idf(documents, ids.size());
+            ids.forEach((id, frequency) -> scores.merge(id, frequency * idf, Double::sum));
+        }
+
+        List<Integer> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparing((Integer id) -> scores.get(id)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    /**
+     * Returns how many postings a search for the query reads: an upper bound on the
+     * number of tasks it returns.
+     */
+    int postingCount(String query) {
+        int count = 0;
+        for (String term : tokenize(query)) {
+            Map<Integer, Integer> ids = postings.get(term);
+            count += ids == null ? 0 : ids.size();
+        }
+        return count;
+    }
+
+    /**
+     * Splits text into distinct lower-case words, in order of appearance.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            for (String term : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the weight of a word found in {@code containing} of {@code documents} tasks.
+     */
+    static double idf(int documents, int containing) {
+        return Math.log(1.0 + (double) documents / containing);
+    }
+
+    /**
+     * Ranks documents found without an index, as {@link #search} does: {@code matches}
+     * maps each matching document key to the frequencies of the query words it holds,
+     * out of {@code documents} searched. Ties are broken by key.
+     */
+    static List<Integer> rank(Map<Integer, Map<String, Integer>> matches, int documents) {
+        Map<String, Integer> containing = new HashMap<>();
+        matches.values().forEach(frequencies ->
+                frequencies.keySet().forEach(term -> containing.merge(term, 1, Integer::sum)));
+        Map<Integer, Double> scores = new HashMap<>();
+        matches.forEach((key, frequencies) -> frequencies.forEach((term, frequency) ->
+                scores.merge(key, frequency * idf(documents, containing.get(term)), Double::sum)));
+
+        List<Integer> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparing((Integer key) -> scores.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    /**
+     * Counts the words of a task, with title words weighing more than description words.
+     */
+    static Map<String, Integer> termFrequencies(String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        count(frequencies, title, TITLE_WEIGHT);
+        count(frequencies, description, DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private static void count(Map<String, Integer> frequencies, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String term : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                frequencies.merge(term, weight, Integer::sum);
+            }
+        }
+    }
+}
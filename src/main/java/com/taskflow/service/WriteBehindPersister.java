@@ -0,0 +1,164 @@
+package com.taskflow.service;
+
+import com.taskflow.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes task changes to a repository in the background.
+ * Callers submit their changes and return immediately; a single flusher thread
+ * coalesces everything submitted since the last write and applies it once per
+ * interval, or sooner when enough mutations have piled up.
+ *
+ * <p>A failed background write is logged, kept for the next attempt, and reported
+ * to the caller of the next {@link #flush()} or {@link #close()}.
+ */
+class WriteBehindPersister implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindPersister.class);
+
+    private final TaskRepository repository;
+    private final int dirtyThreshold;
+    private final ScheduledExecutorService flusher;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Object stateLock = new Object();
+    private TaskChanges pending;
+    private RuntimeException failure;
+    private boolean closed;
+
+    WriteBehindPersister(TaskRepository repository, Duration flushInterval, int dirtyThreshold) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        if (dirtyThreshold < 1) {
+            throw new IllegalArgumentException("Dirty threshold must be at least 1");
+        }
+        this.repository = repository;
+        this.dirtyThreshold = dirtyThreshold;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "taskflow-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushInBackground, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Write-behind persistence enabled (interval: {} ms, threshold: {})", intervalMillis, dirtyThreshold);
+    }
+
+    /**
+     * Queues changes to be written, merged on top of any not written yet.
+     * The persister takes ownership of the given change set.
+     *
+     * @param changes the changes made since the previous submit
+     * @throws IllegalStateException if the persister has been closed
+     */
+    void submit(TaskChanges changes) {
+        synchronized (stateLock) {
+            if (closed) {
+                throw new IllegalStateException("Write-behind persister is closed");
+            }
+            int before = pending == null ? 0 : pending.mutationCount();
+            if (pending == null) {
+                pending = changes;
+            } else {
+                pending.mergeNewer(changes);
+            }
+            if (before < dirtyThreshold && pending.mutationCount() >= dirtyThreshold) {
+                flusher.execute(this::flushInBackground);
+            }
+        }
+    }
+
+    /**
+     * Writes any pending changes on the calling thread.
+     *
+     * @throws IllegalStateException if this or an earlier background write failed
+     */
+    void flush() {
+        write();
+        RuntimeException reported;
+        synchronized (stateLock) {
+            reported = failure;
+            failure = null;
+        }
+        if (reported != null) {
+            throw new IllegalStateException("Failed to persist tasks: " + reported.getMessage(), reported);
+        }
+    }
+
+    /**
+     * Stops the background flusher and writes any pending changes.
+     *
+     * @throws IllegalStateException if the final write or an earlier background write failed
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Write-behind flusher did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Write-behind persistence closed");
+    }
+
+    private void flushInBackground() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            // write() already records repository failures; this guards the scheduler itself.
+            logger.error("Unexpected write-behind failure: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Takes the pending changes and applies them. On failure they are put back
+     * underneath any changes submitted meanwhile, so the next attempt retries them.
+     */
+    private void write() {
+        writeLock.lock();
+        try {
+            TaskChanges changes;
+            synchronized (stateLock) {
+                changes = pending;
+                pending = null;
+            }
+            if (changes == null) {
+                return;
+            }
+
+            try {
+                changes.applyTo(repository);
+                logger.debug("Write-behind wrote {} task change(s) for {} mutation(s)",
+                        changes.size(), changes.mutationCount());
+            } catch (RuntimeException e) {
+                logger.error("Write-behind save failed, will retry: {}", e.getMessage(), e);
+                synchronized (stateLock) {
+                    failure = e;
+                    if (pending != null) {
+                        changes.mergeNewer(pending);
+                    }
+                    pending = changes;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
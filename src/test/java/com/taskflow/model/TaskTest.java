@@ -108,4 +108,33 @@ class TaskTest {
         assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
         assertEquals(now, task.getCreatedAt());
     }
+
+    @Test
+    @DisplayName("A read-only copy should keep its values and reject changes")
+    void shouldMakeReadOnlyCopy() {
+        Task task = new Task(1, "Task", "desc");
+        Task copy = task.readOnlyCopy();
+        task.setStatus(TaskStatus.DONE);
+
+        assertEquals(task, copy);
+        assertEquals(TaskStatus.TODO, copy.getStatus());
+        assertThrows(UnsupportedOperationException.class, () -> copy.setStatus(TaskStatus.DONE));
+        assertThrows(UnsupportedOperationException.class, () -> copy.setTitle("Other"));
+        assertSame(copy, copy.readOnlyCopy());
+    }
+
+    @Test
+    @DisplayName("Should derive immutable versioned copies")
+    void shouldCopyVersionedTask() {
+        Task task = new Task(1, "Task", " desc ");
+        VersionedTask versioned = VersionedTask.of(task, 3);
+        VersionedTask started = versioned.withStatus(TaskStatus.IN_PROGRESS);
+
+        assertEquals("desc", versioned.description());
+        assertEquals(TaskStatus.TODO, versioned.status());
+        assertEquals(TaskStatus.IN_PROGRESS, started.status());
+        assertEquals(3, started.version());
+        assertThrows(IllegalArgumentException.class, () -> versioned.withTitle(" "));
+        assertThrows(IllegalArgumentException.class, () -> VersionedTask.of(task, 0));
+    }
 }
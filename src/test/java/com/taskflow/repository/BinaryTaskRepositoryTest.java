@@ -0,0 +1,171 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the BinaryTaskRepository and the format converter.
+ */
+class BinaryTaskRepositoryTest {
+
+    private static final String TEST_FILE = "test_tasks.bin";
+    private static final String JSON_FILE = "test_tasks_converted.json";
+    private BinaryTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BinaryTaskRepository(TEST_FILE);
+        cleanup();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanup();
+    }
+
+    private void cleanup() {
+        try {
+            Files.deleteIfExists(Path.of(TEST_FILE));
+            Files.deleteIfExists(Path.of(TEST_FILE + ".tmp"));
+            Files.deleteIfExists(Path.of(JSON_FILE));
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Test
+    @DisplayName("Should save and load tasks with all fields")
+    void shouldSaveAndLoadTasks() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", "Description 1", TaskStatus.DONE, createdAt));
+        tasks.add(new Task(5, "Café ✓ 🚀", "", TaskStatus.IN_PROGRESS, createdAt.plusDays(1)));
+
+        repository.saveAll(tasks);
+        List<Task> loaded = repository.loadAll();
+
+        assertEquals(2, loaded.size());
+        Task first = loaded.get(0);
+        assertEquals(1, first.getId());
+        assertEquals("Task 1", first.getTitle());
+        assertEquals("Description 1", first.getDescription());
+        assertEquals(TaskStatus.DONE, first.getStatus());
+        assertEquals(createdAt, first.getCreatedAt());
+
+        Task second = loaded.get(1);
+        assertEquals(5, second.getId());
+        assertEquals("Café ✓ 🚀", second.getTitle());
+        assertEquals("", second.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, second.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should store fixed-width records followed by the string heap")
+    void shouldUseFixedWidthRecords() throws IOException {
+        List<Task> tasks = List.of(new Task(1, "abc", "de"), new Task(2, "f", ""));
+        repository.saveAll(tasks);
+
+        long expected = BinaryTaskRepository.HEADER_SIZE + 2L * BinaryTaskRepository.RECORD_SIZE + 6;
+        assertEquals(expected, Files.size(Path.of(TEST_FILE)));
+    }
+
+    @Test
+    @DisplayName("Should save empty list and load it back")
+    void shouldSaveEmptyList() {
+        repository.saveAll(new ArrayList<>());
+        assertTrue(repository.loadAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return empty list when file does not exist")
+    void shouldReturnEmptyListWhenFileNotExists() {
+        assertTrue(repository.loadAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not in the binary format")
+    void shouldRejectForeignFile() throws IOException {
+        Files.writeString(Path.of(TEST_FILE), "[{\"id\": 1, \"title\": \"Task\"}] and some padding");
+        assertTrue(repository.loadAll().isEmpty());
+        assertThrows(RuntimeException.class, () -> repository.forEachTask(task -> { }));
+    }
+
+    @Test
+    @DisplayName("Should count UTF-8 bytes like String.getBytes")
+    void shouldComputeUtf8Length() {
+        for (String text : List.of("", "plain", "é", "✓", "🚀", "a\uD800b", "\uDC00")) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, BinaryTaskRepository.utf8Length(text), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert between JSON and binary layouts")
+    void shouldConvertBetweenFormats() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", "Description 1"));
+        tasks.add(new Task(2, "Task 2", "Description 2", TaskStatus.DONE, LocalDateTime.of(2026, 1, 15, 10, 30)));
+        new JsonTaskRepository(JSON_FILE).saveAll(tasks);
+
+        assertEquals(2, TaskFormatConverter.jsonToBinary(JSON_FILE, TEST_FILE));
+        assertEquals(2, repository.loadAll().size());
+
+        tasks.get(0).setStatus(TaskStatus.IN_PROGRESS);
+        repository.saveAll(tasks);
+        assertEquals(2, TaskFormatConverter.binaryToJson(TEST_FILE, JSON_FILE));
+
+        List<Task> roundTripped = new JsonTaskRepository(JSON_FILE).loadAll();
+        assertEquals(TaskStatus.IN_PROGRESS, roundTripped.get(0).getStatus());
+        assertEquals(LocalDateTime.of(2026, 1, 15, 10, 30), roundTripped.get(1).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should apply upserts and deletes by rewriting the file")
+    void shouldApplyIncrementalChanges() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", ""));
+        tasks.add(new Task(2, "Task 2", ""));
+        repository.saveAll(tasks);
+
+        BinaryTaskRepository reopened = new BinaryTaskRepository(TEST_FILE);
+        reopened.applyChanges(List.of(new Task(3, "Task 3", "longer description")), List.of(1));
+
+        List<Task> loaded = repository.loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals(2, loaded.get(0).getId());
+        assertEquals("longer description", loaded.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should read lazy descriptions on demand, even after the file is rewritten")
+    void shouldLoadDescriptionsLazily() {
+        repository.saveAll(List.of(
+                new Task(1, "Task 1", "First description"),
+                new Task(2, "Task 2", ""),
+                new Task(3, "Task 3", "Third ✓ description")));
+
+        BinaryTaskRepository lazy = new BinaryTaskRepository(TEST_FILE, 1);
+        List<Task> loaded = lazy.loadAll();
+        lazy.applyChanges(List.of(), List.of(1));
+
+        assertEquals("First description", loaded.get(0).getDescription());
+        assertEquals("", loaded.get(1).getDescription());
+        assertEquals("Third ✓ description", loaded.get(2).getDescription());
+        assertEquals("First description", loaded.get(0).getDescription());
+        assertEquals("Third ✓ description", loaded.get(2).readOnlyCopy().getDescription());
+
+        loaded.get(2).setDescription("Changed");
+        assertEquals("Changed", loaded.get(2).getDescription());
+        assertEquals(List.of(2, 3), lazy.loadAll().stream().map(Task::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> new BinaryTaskRepository(TEST_FILE, -1));
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the H2TaskRepository.
+ * Tests persistence and pushed-down queries against an embedded database file.
+ */
+class H2TaskRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private H2TaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new H2TaskRepository(databasePath());
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private String databasePath() {
+        return dir.resolve("tasks").toString();
+    }
+
+    private List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new Task(i, "Task " + i, "Description " + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should save and load tasks across reopening")
+    void shouldSaveAndLoadTasks() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123456000);
+        List<Task> tasks = tasks(2);
+        tasks.add(new Task(3, "Task 3", "Description 3", TaskStatus.DONE, createdAt));
+        repository.saveAll(tasks);
+        repository.close();
+
+        repository = new H2TaskRepository(databasePath());
+        List<Task> loaded = repository.loadAll();
+        assertEquals(3, loaded.size());
+        assertEquals("Task 1", loaded.get(0).getTitle());
+        assertEquals(TaskStatus.DONE, loaded.get(2).getStatus());
+        assertEquals(createdAt, loaded.get(2).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should replace the stored tasks on saveAll")
+    void shouldReplaceOnSaveAll() {
+        repository.saveAll(tasks(5));
+        repository.saveAll(tasks(2));
+
+        assertEquals(2, repository.count());
+        assertEquals(2, repository.maxId());
+    }
+
+    @Test
+    @DisplayName("Should apply upserts and deletes to single rows")
+    void shouldApplyChanges() {
+        List<Task> tasks = tasks(3);
+        repository.saveAll(tasks);
+
+        tasks.get(0).setStatus(TaskStatus.IN_PROGRESS);
+        repository.applyChanges(List.of(tasks.get(0), new Task(4, "Task 4", "")), List.of(2));
+
+        List<Task> loaded = repository.loadAll();
+        assertEquals(List.of(1, 3, 4), loaded.stream().map(Task::getId).toList());
+        assertEquals(TaskStatus.IN_PROGRESS, loaded.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer ID, status and count queries from the database")
+    void shouldQueryStore() {
+        List<Task> tasks = tasks(10);
+        tasks.get(3).setStatus(TaskStatus.DONE);
+        tasks.get(7).setStatus(TaskStatus.DONE);
+        repository.saveAll(tasks);
+
+        assertEquals("Task 4", repository.findById(4).orElseThrow().getTitle());
+        assertTrue(repository.findById(42).isEmpty());
+        assertEquals(List.of(4, 8), repository.findByStatus(TaskStatus.DONE).stream().map(Task::getId).toList());
+        assertEquals(8, repository.findByStatus(TaskStatus.TODO).size());
+        assertEquals(2, repository.countByStatus(TaskStatus.DONE));
+        assertEquals(10, repository.count());
+        assertEquals(10, repository.maxId());
+    }
+
+    @Test
+    @DisplayName("Should scan in ID order across pages and stop when the visitor does")
+    void shouldScanInPages() {
+        repository.saveAll(tasks(600));
+
+        List<Integer> all = new ArrayList<>();
+        repository.scan(0, task -> all.add(task.getId()));
+        assertEquals(600, all.size());
+        assertEquals(600, all.get(599));
+
+        List<Integer> visited = new ArrayList<>();
+        repository.scan(250, task -> visited.add(task.getId()) && visited.size() < 10);
+        assertEquals(List.of(251, 252, 253, 254, 255, 256, 257, 258, 259, 260), visited);
+    }
+
+    @Test
+    @DisplayName("Should report zero tasks for a new database")
+    void shouldStartEmpty() {
+        assertTrue(repository.loadAll().isEmpty());
+        assertEquals(0, repository.count());
+        assertEquals(0, repository.maxId());
+    }
+}
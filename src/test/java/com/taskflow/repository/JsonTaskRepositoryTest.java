@@ -7,8 +7,15 @@ import org.junit.jupiter.api.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +42,7 @@ class JsonTaskRepositoryTest {
     private void cleanup() {
         try {
             Files.deleteIfExists(Path.of(TEST_FILE));
+            Files.deleteIfExists(Path.of(TEST_FILE + ".tmp"));
         } catch (IOException ignored) {
         }
     }
@@ -131,4 +139,163 @@ class JsonTaskRepositoryTest {
                 loaded.get(0).getCreatedAt().withNano(0)
         );
     }
+
+    @Test
+    @DisplayName("Should stream tasks to a consumer in stored order")
+    void shouldStreamTasksInOrder() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            tasks.add(new Task(i, "Task " + i, "Description " + i));
+        }
+        repository.saveAll(tasks);
+
+        List<Integer> ids = new ArrayList<>();
+        repository.forEachTask(task -> ids.add(task.getId()));
+
+        assertEquals(50, ids.size());
+        assertEquals(1, ids.get(0));
+        assertEquals(50, ids.get(49));
+    }
+
+    @Test
+    @DisplayName("Should treat a whitespace-only file as empty when streaming")
+    void shouldStreamNothingFromBlankFile() throws IOException {
+        Files.writeString(Path.of(TEST_FILE), "  \n ");
+        List<Task> streamed = new ArrayList<>();
+        repository.forEachTask(streamed::add);
+        assertTrue(streamed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail the stream on a corrupted file")
+    void shouldFailStreamOnCorruptedFile() throws IOException {
+        Files.writeString(Path.of(TEST_FILE), "[{\"id\": 1, \"title\": \"Task\"}, {{{");
+        assertThrows(RuntimeException.class, () -> repository.forEachTask(task -> { }));
+        assertTrue(repository.loadAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Durable mode should save atomically without leaving a temp file")
+    void shouldSaveDurably() {
+        JsonTaskRepository durable = new JsonTaskRepository(TEST_FILE, true, 0);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", "Description 1"));
+        durable.saveAll(tasks);
+
+        tasks.add(new Task(2, "Task 2", ""));
+        durable.saveAll(tasks);
+
+        assertFalse(Files.exists(Path.of(TEST_FILE + ".tmp")));
+        List<Task> loaded = repository.loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals("Description 1", loaded.get(0).getDescription());
+        assertEquals(2, durable.getCommitCount());
+    }
+
+    @Test
+    @DisplayName("Durable mode should share one write among concurrent saves")
+    void shouldGroupConcurrentSaves() throws Exception {
+        JsonTaskRepository durable = new JsonTaskRepository(TEST_FILE, true, 100);
+        int writers = 8;
+        CyclicBarrier barrier = new CyclicBarrier(writers);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= writers; i++) {
+                List<Task> tasks = List.of(new Task(i, "Task " + i, ""));
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    durable.saveAll(tasks);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(durable.getCommitCount() < writers);
+        assertEquals(1, repository.loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Should apply upserts and deletes on top of the stored tasks")
+    void shouldApplyIncrementalChanges() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", ""));
+        tasks.add(new Task(2, "Task 2", ""));
+        tasks.add(new Task(3, "Task 3", ""));
+        repository.saveAll(tasks);
+
+        JsonTaskRepository reopened = new JsonTaskRepository(TEST_FILE);
+        Task changed = new Task(1, "Task 1", "", TaskStatus.DONE, tasks.get(0).getCreatedAt());
+        reopened.upsert(changed);
+        reopened.delete(2);
+        reopened.upsertAll(List.of(new Task(4, "Task 4", "")));
+
+        List<Task> loaded = repository.loadAll();
+        assertEquals(3, loaded.size());
+        assertEquals(TaskStatus.DONE, loaded.get(0).getStatus());
+        assertEquals(3, loaded.get(1).getId());
+        assertEquals(4, loaded.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Should write the text of a lazy description, not the empty field")
+    void shouldWriteLazyDescriptions() {
+        Task lazy = Task.withLazyDescription(1, "Task 1", () -> "Loaded later", TaskStatus.TODO,
+                LocalDateTime.of(2024, 1, 1, 9, 0));
+        repository.saveAll(List.of(lazy));
+
+        assertEquals("Loaded later", new JsonTaskRepository(TEST_FILE).loadAll().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should not write later changes made to tasks it was given")
+    void shouldKeepSnapshotsOfSavedTasks() {
+        Task task = new Task(1, "Task 1", "");
+        repository.saveAll(List.of(task));
+        task.setStatus(TaskStatus.DONE);
+        repository.upsert(new Task(2, "Task 2", ""));
+
+        List<Task> loaded = repository.loadAll();
+        assertEquals(TaskStatus.TODO, loaded.get(0).getStatus());
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    @DisplayName("Should write compressed files that are smaller and load back")
+    void shouldSaveCompressed() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            tasks.add(new Task(i, "Task " + i, "A long and fairly repetitive description of task " + i));
+        }
+        repository.saveAll(tasks);
+        long plainSize = Files.size(Path.of(TEST_FILE));
+
+        JsonTaskRepository compressed = new JsonTaskRepository(TEST_FILE, true, 0, true);
+        compressed.saveAll(tasks);
+        byte[] header = Arrays.copyOf(Files.readAllBytes(Path.of(TEST_FILE)), 2);
+
+        assertArrayEquals(new byte[] {(byte) 0x1f, (byte) 0x8b}, header);
+        assertTrue(Files.size(Path.of(TEST_FILE)) * 5 < plainSize);
+        List<Task> loaded = new JsonTaskRepository(TEST_FILE, false, 0, true).loadAll();
+        assertEquals(200, loaded.size());
+        assertEquals(tasks.get(199).getDescription(), loaded.get(199).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should detect the file format on load regardless of configuration")
+    void shouldDetectFormatOnLoad() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", "Description 1"));
+
+        new JsonTaskRepository(TEST_FILE, false, 0, true).saveAll(tasks);
+        assertEquals("Description 1", new JsonTaskRepository(TEST_FILE).loadAll().get(0).getDescription());
+
+        new JsonTaskRepository(TEST_FILE).saveAll(tasks);
+        assertEquals(1, new JsonTaskRepository(TEST_FILE, false, 0, true).loadAll().size());
+    }
 }
@@ -0,0 +1,137 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for log compaction of the LogTaskRepository.
+ */
+class LogCompactorTest {
+
+    @TempDir
+    Path dir;
+
+    private String logFile() {
+        return dir.resolve("tasks.log").toString();
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Compaction should replace the log with a snapshot of live tasks")
+    void shouldCompactIntoSnapshot() throws IOException {
+        LogTaskRepository repository = new LogTaskRepository(logFile());
+        for (int i = 1; i <= 20; i++) {
+            repository.upsert(new Task(i, "Task " + i, ""));
+        }
+        repository.deleteAll(List.of(1, 2, 3));
+
+        assertTrue(repository.compact());
+
+        assertEquals(List.of("tasks.log.snapshot.0000000001"), files());
+        List<Task> loaded = new LogTaskRepository(logFile()).loadAll();
+        assertEquals(17, loaded.size());
+        assertEquals(4, loaded.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Startup should load the snapshot and replay only the tail")
+    void shouldReplayTailAfterSnapshot() throws IOException {
+        LogTaskRepository repository = new LogTaskRepository(logFile());
+        repository.upsert(new Task(1, "Task 1", ""));
+        repository.upsert(new Task(2, "Task 2", ""));
+        repository.compact();
+
+        Task changed = new Task(1, "Task 1", "", TaskStatus.DONE, LocalDateTime.now());
+        repository.upsert(changed);
+        repository.delete(2);
+        repository.upsert(new Task(3, "Task 3", ""));
+
+        assertTrue(files().contains("tasks.log"));
+        List<Task> loaded = new LogTaskRepository(logFile()).loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals(TaskStatus.DONE, loaded.get(0).getStatus());
+        assertEquals(3, loaded.get(1).getId());
+
+        repository.compact();
+        assertEquals(List.of("tasks.log.snapshot.0000000002"), files());
+        assertEquals(2, new LogTaskRepository(logFile()).loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Compaction with nothing new to fold should do nothing")
+    void shouldSkipEmptyCompaction() {
+        LogTaskRepository repository = new LogTaskRepository(logFile());
+        assertFalse(repository.compact());
+
+        repository.upsert(new Task(1, "Task 1", ""));
+        assertTrue(repository.compact());
+        assertFalse(repository.compact());
+    }
+
+    @Test
+    @DisplayName("Writes during compaction should not be lost")
+    void shouldNotLoseConcurrentWrites() throws Exception {
+        LogTaskRepository repository = new LogTaskRepository(logFile());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread compactor = new Thread(() -> {
+            while (writing.get()) {
+                repository.compact();
+            }
+        });
+        compactor.start();
+
+        int count = 2000;
+        for (int i = 1; i <= count; i++) {
+            repository.upsert(new Task(i, "Task " + i, ""));
+            if (i % 3 == 0) {
+                repository.delete(i - 1);
+            }
+        }
+        writing.set(false);
+        compactor.join();
+
+        List<Task> loaded = new LogTaskRepository(logFile()).loadAll();
+        assertEquals(count - count / 3, loaded.size());
+        assertEquals(count, loaded.get(loaded.size() - 1).getId());
+    }
+
+    @Test
+    @DisplayName("The compactor should compact once the log passes its threshold")
+    void shouldCompactInBackground() throws Exception {
+        LogTaskRepository repository = new LogTaskRepository(logFile());
+        for (int i = 1; i <= 50; i++) {
+            repository.upsert(new Task(i, "Task " + i, "Some description"));
+        }
+
+        LogCompactor compactor = new LogCompactor(repository, Duration.ofMillis(10), 1024);
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (repository.uncompactedBytes() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            compactor.close();
+        }
+
+        assertEquals(0, repository.uncompactedBytes());
+        assertEquals(50, new LogTaskRepository(logFile()).loadAll().size());
+    }
+}
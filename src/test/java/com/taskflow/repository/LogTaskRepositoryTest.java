@@ -0,0 +1,217 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the LogTaskRepository.
+ * Tests append-only persistence and log replay.
+ */
+class LogTaskRepositoryTest {
+
+    private static final String TEST_FILE = "test_tasks.log";
+    private LogTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        cleanup();
+        repository = new LogTaskRepository(TEST_FILE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanup();
+    }
+
+    private void cleanup() {
+        try {
+            Files.deleteIfExists(Path.of(TEST_FILE));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private long lineCount() throws IOException {
+        try (var lines = Files.lines(Path.of(TEST_FILE))) {
+            return lines.count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should save and replay tasks")
+    void shouldSaveAndLoadTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", "Description 1"));
+        tasks.add(new Task(2, "Task 2", "Description 2"));
+
+        repository.saveAll(tasks);
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals("Task 1", loaded.get(0).getTitle());
+        assertEquals("Description 2", loaded.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should append only the changed task on save")
+    void shouldAppendOnlyChangedTask() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(new Task(i, "Task " + i, ""));
+        }
+        repository.saveAll(tasks);
+        assertEquals(10, lineCount());
+
+        tasks.get(4).setStatus(TaskStatus.DONE);
+        repository.saveAll(tasks);
+        assertEquals(11, lineCount());
+
+        repository.saveAll(tasks);
+        assertEquals(11, lineCount());
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(10, loaded.size());
+        assertEquals(TaskStatus.DONE, loaded.get(4).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should record deletions and keep insertion order")
+    void shouldRecordDeletions() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", ""));
+        tasks.add(new Task(2, "Task 2", ""));
+        tasks.add(new Task(3, "Task 3", ""));
+        repository.saveAll(tasks);
+
+        tasks.remove(1);
+        tasks.get(0).setTitle("Task 1 renamed");
+        repository.saveAll(tasks);
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals("Task 1 renamed", loaded.get(0).getTitle());
+        assertEquals(3, loaded.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should continue an existing log without duplicating records")
+    void shouldContinueExistingLog() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", ""));
+        repository.saveAll(tasks);
+
+        LogTaskRepository reopened = new LogTaskRepository(TEST_FILE);
+        List<Task> loaded = reopened.loadAll();
+        loaded.add(new Task(2, "Task 2", ""));
+        reopened.saveAll(loaded);
+
+        assertEquals(2, lineCount());
+        assertEquals(2, new LogTaskRepository(TEST_FILE).loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Should return empty list when log does not exist")
+    void shouldReturnEmptyListWhenFileNotExists() {
+        assertTrue(repository.loadAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep records written before a torn trailing line")
+    void shouldIgnoreTornTail() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", ""));
+        tasks.add(new Task(2, "Task 2", ""));
+        repository.saveAll(tasks);
+
+        Files.writeString(Path.of(TEST_FILE), "{\"op\":\"put\",\"task\":{\"id\":3,\"tit",
+                StandardOpenOption.APPEND);
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    @DisplayName("Should append exactly one record per upsert or delete")
+    void shouldAppendOneRecordPerChange() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            tasks.add(new Task(i, "Task " + i, ""));
+        }
+        repository.saveAll(tasks);
+
+        Task task = tasks.get(49);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        repository.upsert(task);
+        repository.delete(7);
+        repository.deleteAll(List.of(8, 9));
+
+        assertEquals(104, lineCount());
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(97, loaded.size());
+        assertEquals(TaskStatus.IN_PROGRESS, loaded.get(46).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should cut off a torn tail so later appends are replayed")
+    void shouldKeepAppendsAfterTornTail() throws IOException {
+        repository.upsert(new Task(1, "Task 1", ""));
+        Files.writeString(Path.of(TEST_FILE), "{\"op\":\"put\",\"ta", StandardOpenOption.APPEND);
+
+        LogTaskRepository reopened = new LogTaskRepository(TEST_FILE);
+        reopened.upsert(new Task(2, "Task 2", ""));
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(2, loaded.size());
+        assertEquals(2, loaded.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should cut off a tail torn inside a multi-byte character")
+    void shouldKeepAppendsAfterTornCharacter() throws IOException {
+        repository.upsert(new Task(1, "Task 1", ""));
+        byte[] torn = "{\"op\":\"put\",\"task\":{\"id\":2,\"title\":\"日".getBytes(StandardCharsets.UTF_8);
+        Files.write(Path.of(TEST_FILE), Arrays.copyOf(torn, torn.length - 1), StandardOpenOption.APPEND);
+
+        LogTaskRepository reopened = new LogTaskRepository(TEST_FILE);
+        reopened.upsert(new Task(3, "Task 3", ""));
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(List.of(1, 3), loaded.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should skip a corrupt line in the middle and keep the records after it")
+    void shouldSkipCorruptLineBeforeValidRecords() throws IOException {
+        repository.upsert(new Task(1, "Task 1", ""));
+        Files.writeString(Path.of(TEST_FILE), "{\"op\":\"put\",\"ta\n", StandardOpenOption.APPEND);
+        repository.upsert(new Task(2, "Task 2", ""));
+        repository.upsert(new Task(3, "Task 3", ""));
+
+        LogTaskRepository reopened = new LogTaskRepository(TEST_FILE);
+        reopened.upsert(new Task(4, "Task 4", ""));
+
+        List<Task> loaded = new LogTaskRepository(TEST_FILE).loadAll();
+        assertEquals(List.of(1, 2, 3, 4), loaded.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should append the text of a lazy description, not the empty field")
+    void shouldAppendLazyDescriptions() {
+        repository.upsert(Task.withLazyDescription(1, "Task 1", () -> "Loaded later", TaskStatus.TODO,
+                LocalDateTime.of(2024, 1, 1, 9, 0)).readOnlyCopy());
+
+        assertEquals("Loaded later", new LogTaskRepository(TEST_FILE).loadAll().get(0).getDescription());
+    }
+}
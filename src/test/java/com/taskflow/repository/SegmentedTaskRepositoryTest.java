@@ -0,0 +1,194 @@
+package com.taskflow.repository;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import com.taskflow.service.TaskService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the SegmentedTaskRepository.
+ * Tests ID-range partitioning, parallel load and per-segment rewrites.
+ */
+class SegmentedTaskRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private SegmentedTaskRepository repository(int segmentSize) {
+        return new SegmentedTaskRepository(dir.toString(), segmentSize);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new Task(i, "Task " + i, "Description " + i));
+        }
+        return tasks;
+    }
+
+    private void touchAll(FileTime time) throws IOException {
+        for (String file : files()) {
+            Files.setLastModifiedTime(dir.resolve(file), time);
+        }
+    }
+
+    @Test
+    @DisplayName("Should partition tasks by ID range and load them back in order")
+    void shouldPartitionByIdRange() throws IOException {
+        repository(10).saveAll(tasks(25));
+
+        assertEquals(List.of("segment-000000.json", "segment-000001.json", "segment-000002.json"), files());
+
+        List<Task> loaded = repository(10).loadAll();
+        assertEquals(25, loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(i + 1, loaded.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should load segments in parallel on the given pool")
+    void shouldLoadOnPool() {
+        repository(4).saveAll(tasks(100));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Task> loaded = new SegmentedTaskRepository(dir.toString(), 4, pool).loadAll();
+            assertEquals(100, loaded.size());
+            assertEquals(100, loaded.get(99).getId());
+            assertEquals("Description 57", loaded.get(56).getDescription());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rewrite only the segment whose tasks changed")
+    void shouldRewriteOnlyChangedSegment() throws IOException {
+        SegmentedTaskRepository repository = repository(10);
+        List<Task> tasks = tasks(30);
+        repository.saveAll(tasks);
+        FileTime old = FileTime.fromMillis(0);
+        touchAll(old);
+
+        tasks.get(14).setStatus(TaskStatus.DONE);
+        repository.saveAll(tasks);
+
+        assertEquals(old, Files.getLastModifiedTime(dir.resolve("segment-000000.json")));
+        assertNotEquals(old, Files.getLastModifiedTime(dir.resolve("segment-000001.json")));
+        assertEquals(old, Files.getLastModifiedTime(dir.resolve("segment-000002.json")));
+        assertEquals(TaskStatus.DONE, repository(10).loadAll().get(14).getStatus());
+    }
+
+    @Test
+    @DisplayName("Incremental changes should touch only their segments")
+    void shouldApplyChangesToTouchedSegments() throws IOException {
+        repository(10).saveAll(tasks(30));
+        FileTime old = FileTime.fromMillis(0);
+        touchAll(old);
+
+        SegmentedTaskRepository reopened = repository(10);
+        reopened.upsert(new Task(31, "Task 31", ""));
+        reopened.delete(3);
+
+        assertNotEquals(old, Files.getLastModifiedTime(dir.resolve("segment-000000.json")));
+        assertEquals(old, Files.getLastModifiedTime(dir.resolve("segment-000001.json")));
+        assertEquals(old, Files.getLastModifiedTime(dir.resolve("segment-000002.json")));
+        assertTrue(files().contains("segment-000003.json"));
+
+        List<Task> loaded = repository(10).loadAll();
+        assertEquals(30, loaded.size());
+        assertEquals(31, loaded.get(29).getId());
+    }
+
+    @Test
+    @DisplayName("A failed segment write should fail the save and reload before the next one")
+    void shouldReloadAfterFailedWrite() throws IOException {
+        SegmentedTaskRepository repository = repository(10);
+        repository.saveAll(tasks(20));
+        Path blocker = Files.createDirectories(dir.resolve("segment-000001.json.tmp").resolve("blocker"));
+
+        assertThrows(RuntimeException.class, () -> repository.applyChanges(
+                List.of(new Task(15, "Changed", ""), new Task(25, "Task 25", "")), List.of(3)));
+
+        Files.delete(blocker);
+        Files.delete(blocker.getParent());
+        repository.upsert(new Task(26, "Task 26", ""));
+
+        List<Task> loaded = repository(10).loadAll();
+        assertEquals(20, loaded.size());
+        assertFalse(loaded.stream().anyMatch(task -> task.getId() == 3));
+        assertEquals("Task 15", loaded.get(13).getTitle());
+        assertEquals(26, loaded.get(19).getId());
+    }
+
+    @Test
+    @DisplayName("Tasks changed by the caller after a save should not leak into later writes")
+    void shouldNotWriteUnsavedChangesOfSavedTasks() {
+        SegmentedTaskRepository repository = repository(10);
+        Task first = new Task(1, "Task 1", "");
+        repository.applyChanges(List.of(first), List.of());
+
+        first.setTitle("Not saved");
+        repository.applyChanges(List.of(new Task(2, "Task 2", "")), List.of());
+
+        assertEquals("Task 1", repository(10).loadAll().get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should delete a segment file once all its tasks are gone")
+    void shouldDeleteEmptySegment() throws IOException {
+        SegmentedTaskRepository repository = repository(10);
+        List<Task> tasks = tasks(20);
+        repository.saveAll(tasks);
+
+        repository.saveAll(tasks.subList(10, 20));
+
+        assertEquals(List.of("segment-000001.json"), files());
+        assertEquals(10, repository(10).loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Should return empty list when the directory does not exist")
+    void shouldReturnEmptyListWhenDirectoryMissing() {
+        assertTrue(new SegmentedTaskRepository(dir.resolve("missing").toString(), 10).loadAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive segment size")
+    void shouldRejectInvalidSegmentSize() {
+        assertThrows(IllegalArgumentException.class, () -> repository(0));
+    }
+
+    @Test
+    @DisplayName("TaskService should continue IDs after the highest segment")
+    void shouldKeepNextIdAcrossSegments() {
+        TaskService service = new TaskService(repository(5));
+        for (int i = 1; i <= 12; i++) {
+            service.addTask("Task " + i, "");
+        }
+        service.deleteTask(3);
+
+        TaskService reloaded = new TaskService(repository(5));
+        assertEquals(11, reloaded.getAllTasks().size());
+        assertEquals(13, reloaded.addTask("Task 13", "").getId());
+    }
+}
@@ -0,0 +1,143 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnarTaskStore, checked against InMemoryTaskStore.
+ */
+class ColumnarTaskStoreTest {
+
+    private static final String[] WORDS = {"report", "bank", "milk", "über", "fix", "login", "日本"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Should answer every read like the object store after random changes")
+    void shouldMatchObjectStore() {
+        Random random = new Random(42);
+        ColumnarTaskStore columnar = new ColumnarTaskStore();
+        InMemoryTaskStore objects = new InMemoryTaskStore();
+
+        for (int step = 0; step < 3000; step++) {
+            int id = 1 + random.nextInt(400);
+            int action = random.nextInt(10);
+            if (action < 5) {
+                String title = text(random);
+                String description = text(random);
+                LocalDateTime created = START.plusMinutes(random.nextInt(10_000)).plusNanos(random.nextInt(1000));
+                TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                if (objects.findById(id).isEmpty()) {
+                    columnar.add(new Task(id, title, description, status, created));
+                    objects.add(new Task(id, title, description, status, created));
+                }
+            } else if (action < 7) {
+                TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                columnar.findById(id).ifPresent(task -> columnar.setStatus(task, status));
+                objects.findById(id).ifPresent(task -> objects.setStatus(task, status));
+            } else if (action < 8) {
+                String title = text(random);
+                columnar.findById(id).ifPresent(task -> columnar.setText(task, title, task.getDescription()));
+                objects.findById(id).ifPresent(task -> objects.setText(task, title, task.getDescription()));
+            } else {
+                columnar.findById(id).ifPresent(columnar::remove);
+                objects.findById(id).ifPresent(objects::remove);
+            }
+        }
+
+        assertEquals(objects.size(), columnar.size());
+        assertEquals(objects.maxId(), columnar.maxId());
+        assertTasksEqual(objects.findAll(), columnar.findAll());
+        assertTasksEqual(objects.snapshot().tasks(), columnar.snapshot().tasks());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(objects.countByStatus(status), columnar.countByStatus(status));
+            assertTasksEqual(objects.findByStatus(status), columnar.findByStatus(status));
+            assertTasksEqual(objects.findPage(100, 25, status), columnar.findPage(100, 25, status));
+        }
+        assertTasksEqual(objects.findPage(0, 50, null), columnar.findPage(0, 50, null));
+        assertTasksEqual(objects.findPage(399, 50, null), columnar.findPage(399, 50, null));
+
+        LocalDateTime from = START.plusMinutes(2000);
+        LocalDateTime to = START.plusMinutes(4000);
+        assertTasksEqual(objects.findCreatedBetween(from, to), columnar.findCreatedBetween(from, to));
+        assertTasksEqual(objects.findCreatedBetween(null, to), columnar.findCreatedBetween(null, to));
+        assertTasksEqual(objects.findCreatedBetween(LocalDateTime.MIN, LocalDateTime.MAX),
+                columnar.findCreatedBetween(LocalDateTime.MIN, LocalDateTime.MAX));
+
+        for (String query : List.of("report", "bank milk", "über 日本", "absent")) {
+            assertEquals(ids(objects.search(query)), ids(columnar.search(query)), query);
+        }
+
+        List<TaskQuery> queries = List.of(
+                TaskQuery.where(TaskFilter.status(TaskStatus.TODO).and(TaskFilter.text("fix"))),
+                TaskQuery.where(TaskFilter.idBetween(50, 150).or(TaskFilter.createdBetween(from, to)))
+                        .orderBy(TaskQuery.Sort.TITLE, true).limit(20),
+                TaskQuery.where(TaskFilter.idBetween(10, 60)).orderBy(TaskQuery.Sort.CREATED_AT).limit(5),
+                TaskQuery.where(TaskFilter.all()).limit(7));
+        for (TaskQuery query : queries) {
+            assertTasksEqual(objects.query(query), columnar.query(query));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep tasks in ID order when added out of order")
+    void shouldInsertOutOfOrder() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (int id : new int[] {5, 2, 9, 1, 7}) {
+            store.add(new Task(id, "Task " + id, ""));
+        }
+        store.findById(2).ifPresent(store::remove);
+
+        assertEquals(List.of(1, 5, 7, 9), ids(store.findAll()));
+        assertEquals(List.of(7, 9), ids(store.findPage(5, 10, null)));
+        assertEquals(9, store.maxId());
+        assertEquals("Task 7", store.findById(7).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should store creation times across the whole LocalDateTime range")
+    void shouldStoreAnyCreationTime() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        LocalDateTime ancient = LocalDateTime.of(1000, 1, 1, 0, 0, 0, 1);
+        store.add(new Task(1, "Ancient", "", TaskStatus.TODO, ancient));
+        store.add(new Task(2, "First", "", TaskStatus.TODO, LocalDateTime.MIN));
+        store.add(new Task(3, "Last", "", TaskStatus.TODO, LocalDateTime.MAX));
+
+        assertEquals(ancient, store.findById(1).orElseThrow().getCreatedAt());
+        assertEquals(LocalDateTime.MIN, store.findById(2).orElseThrow().getCreatedAt());
+        assertEquals(LocalDateTime.MAX, store.findById(3).orElseThrow().getCreatedAt());
+        assertEquals(List.of(2, 1), ids(store.findCreatedBetween(null, ancient.plusNanos(1))));
+        assertEquals(List.of(1), ids(store.findCreatedBetween(ancient, LocalDateTime.MAX)));
+    }
+
+    private static String text(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static void assertTasksEqual(List<Task> expected, List<Task> actual) {
+        assertEquals(ids(expected), ids(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            Task want = expected.get(i);
+            Task got = actual.get(i);
+            assertEquals(want.getTitle(), got.getTitle());
+            assertEquals(want.getDescription(), got.getDescription());
+            assertEquals(want.getStatus(), got.getStatus());
+            assertEquals(want.getCreatedAt(), got.getCreatedAt());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskflow.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the primitive IntIndex hash map.
+ */
+class IntIndexTest {
+
+    @Test
+    @DisplayName("Should put, get, overwrite and remove keys")
+    void shouldPutGetAndRemove() {
+        IntIndex index = new IntIndex();
+        index.put(1, 10);
+        index.put(2, 20);
+        index.put(1, 11);
+
+        assertEquals(11, index.get(1));
+        assertEquals(20, index.get(2));
+        assertEquals(IntIndex.MISSING, index.get(3));
+        assertEquals(2, index.size());
+
+        assertEquals(11, index.remove(1));
+        assertEquals(IntIndex.MISSING, index.remove(1));
+        assertEquals(IntIndex.MISSING, index.get(1));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should handle the reserved empty-slot key like any other key")
+    void shouldHandleMinValueKey() {
+        IntIndex index = new IntIndex();
+        index.put(Integer.MIN_VALUE, 5);
+        assertEquals(5, index.get(Integer.MIN_VALUE));
+        assertEquals(1, index.size());
+        assertEquals(5, index.remove(Integer.MIN_VALUE));
+        assertEquals(IntIndex.MISSING, index.get(Integer.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should agree with a HashMap across random growth and removals")
+    void shouldMatchHashMap() {
+        IntIndex index = new IntIndex();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, IntIndex.MISSING), index.remove(key));
+                expected.remove(key);
+            } else {
+                index.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (int key = -100; key < 4_900; key++) {
+            assertEquals(expected.getOrDefault(key, IntIndex.MISSING), index.get(key));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OffHeapTaskStore, checked against InMemoryTaskStore.
+ */
+class OffHeapTaskStoreTest {
+
+    private static final String[] WORDS = {"report", "bank", "milk", "über", "fix", "日本"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Should answer every read like the object store after random changes")
+    void shouldMatchObjectStore() {
+        Random random = new Random(7);
+        OffHeapTaskStore offHeap = new OffHeapTaskStore();
+        InMemoryTaskStore objects = new InMemoryTaskStore();
+
+        // Enough tasks and long enough text to grow and compact both buffers.
+        for (int step = 0; step < 20_000; step++) {
+            int id = 1 + random.nextInt(3000);
+            int action = random.nextInt(10);
+            if (action < 5) {
+                String title = text(random, 3);
+                String description = text(random, 40);
+                LocalDateTime created = START.plusSeconds(random.nextInt(1_000_000)).plusNanos(random.nextInt(1000));
+                TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                if (objects.findById(id).isEmpty()) {
+                    offHeap.add(new Task(id, title, description, status, created));
+                    objects.add(new Task(id, title, description, status, created));
+                }
+            } else if (action < 7) {
+                TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                offHeap.findById(id).ifPresent(task -> offHeap.setStatus(task, status));
+                objects.findById(id).ifPresent(task -> objects.setStatus(task, status));
+            } else if (action < 8) {
+                String description = text(random, 40);
+                offHeap.findById(id).ifPresent(task -> offHeap.setText(task, task.getTitle(), description));
+                objects.findById(id).ifPresent(task -> objects.setText(task, task.getTitle(), description));
+            } else {
+                offHeap.findById(id).ifPresent(offHeap::remove);
+                objects.findById(id).ifPresent(objects::remove);
+            }
+        }
+
+        assertEquals(objects.size(), offHeap.size());
+        assertEquals(objects.maxId(), offHeap.maxId());
+        assertTasksEqual(objects.findAll(), offHeap.findAll());
+        assertTasksEqual(objects.snapshot().tasks(), offHeap.snapshot().tasks());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(objects.countByStatus(status), offHeap.countByStatus(status));
+            assertTasksEqual(objects.findByStatus(status), offHeap.findByStatus(status));
+            assertTasksEqual(objects.findPage(1000, 30, status), offHeap.findPage(1000, 30, status));
+        }
+
+        LocalDateTime from = START.plusSeconds(200_000);
+        LocalDateTime to = START.plusSeconds(400_000);
+        assertTasksEqual(objects.findCreatedBetween(from, to), offHeap.findCreatedBetween(from, to));
+        for (String query : List.of("report", "bank milk", "über 日本", "absent")) {
+            assertEquals(ids(objects.search(query)), ids(offHeap.search(query)), query);
+        }
+
+        List<TaskQuery> queries = List.of(
+                TaskQuery.where(TaskFilter.status(TaskStatus.DONE).and(TaskFilter.text("fix"))),
+                TaskQuery.where(TaskFilter.idBetween(500, 900).or(TaskFilter.createdBetween(from, to)))
+                        .orderBy(TaskQuery.Sort.TITLE, true).limit(20),
+                TaskQuery.where(TaskFilter.idBetween(10, 60)).orderBy(TaskQuery.Sort.CREATED_AT).limit(5));
+        for (TaskQuery query : queries) {
+            assertTasksEqual(objects.query(query), offHeap.query(query));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve tasks through the service from the off-heap engine")
+    void shouldServeTasksThroughService() {
+        TaskService service = new TaskService(StorageEngine.OFF_HEAP, true);
+        service.addTask("Write report", "quarterly numbers");
+        service.addTask("Buy milk", "");
+        service.startTask(2);
+        service.deleteTask(1);
+
+        assertEquals(List.of(2), ids(service.getAllTasks()));
+        assertEquals(TaskStatus.IN_PROGRESS, service.getTaskById(2).orElseThrow().getStatus());
+        assertEquals(List.of(2), ids(service.searchTasks("milk")));
+        assertEquals(1, service.snapshot().size());
+    }
+
+    private static String text(Random random, int maxWords) {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(maxWords); i >= 0; i--) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static void assertTasksEqual(List<Task> expected, List<Task> actual) {
+        assertEquals(ids(expected), ids(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            Task want = expected.get(i);
+            Task got = actual.get(i);
+            assertEquals(want.getTitle(), got.getTitle());
+            assertEquals(want.getDescription(), got.getDescription());
+            assertEquals(want.getStatus(), got.getStatus());
+            assertEquals(want.getCreatedAt(), got.getCreatedAt());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TaskService change feed.
+ */
+class TaskEventFeedTest {
+
+    /**
+     * Subscriber that records what it receives and requests only what the test asks for.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<TaskEvent> {
+
+        private final BlockingQueue<TaskEvent> events = new LinkedBlockingQueue<>();
+        private final List<Throwable> errors = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(TaskEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        TaskEvent next() throws InterruptedException {
+            TaskEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "no event received");
+            return event;
+        }
+
+        List<Long> sequences() {
+            return events.stream().map(TaskEvent::sequence).toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit numbered events for every kind of change")
+    void shouldEmitChangeEvents() throws InterruptedException {
+        TaskService service = new TaskService();
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        service.events().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        service.addTask("Task 1", "");
+        service.startTask(1);
+        service.updateTitle(1, "Renamed");
+        service.batch(batch -> batch.complete(1).add("Task 2", ""));
+        service.deleteTask(2);
+
+        TaskEvent created = subscriber.next();
+        assertEquals(1, created.sequence());
+        assertEquals(TaskEvent.Type.CREATED, created.type());
+        assertEquals(TaskStatus.TODO, created.task().getStatus());
+
+        TaskEvent started = subscriber.next();
+        assertEquals(TaskEvent.Type.STATUS_CHANGED, started.type());
+        assertEquals(TaskStatus.TODO, started.previousStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, started.task().getStatus());
+
+        assertEquals("Renamed", subscriber.next().task().getTitle());
+
+        TaskEvent completed = subscriber.next();
+        assertEquals(TaskStatus.IN_PROGRESS, completed.previousStatus());
+        assertEquals(TaskStatus.DONE, completed.task().getStatus());
+        assertEquals(TaskEvent.Type.CREATED, subscriber.next().type());
+
+        TaskEvent deleted = subscriber.next();
+        assertEquals(6, deleted.sequence());
+        assertEquals(TaskEvent.Type.DELETED, deleted.type());
+        assertEquals(2, deleted.task().getId());
+        assertEquals(6, service.events().latestSequence());
+    }
+
+    @Test
+    @DisplayName("Should deliver no more events than requested")
+    void shouldRespectDemand() {
+        TaskEventFeed feed = new TaskEventFeed(16, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        feed.subscribe(subscriber);
+
+        for (int id = 1; id <= 5; id++) {
+            feed.publish(TaskEvent.Type.CREATED, new Task(id, "Task", ""), null);
+        }
+        assertTrue(subscriber.events.isEmpty());
+
+        subscriber.subscription.request(2);
+        assertEquals(List.of(1L, 2L), subscriber.sequences());
+
+        subscriber.subscription.request(10);
+        feed.publish(TaskEvent.Type.CREATED, new Task(6, "Task", ""), null);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), subscriber.sequences());
+
+        feed.close();
+        assertTrue(subscriber.completed);
+        assertTrue(subscriber.errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should resume after a sequence number, or fail once its events are gone")
+    void shouldResumeFromSequence() {
+        TaskEventFeed feed = new TaskEventFeed(4, Runnable::run);
+        for (int id = 1; id <= 6; id++) {
+            feed.publish(TaskEvent.Type.CREATED, new Task(id, "Task", ""), null);
+        }
+
+        RecordingSubscriber resumed = new RecordingSubscriber();
+        feed.subscribe(resumed, 3);
+        resumed.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of(4L, 5L, 6L), resumed.sequences());
+
+        RecordingSubscriber tooLate = new RecordingSubscriber();
+        feed.subscribe(tooLate, 1);
+        tooLate.subscription.request(1);
+        assertTrue(tooLate.events.isEmpty());
+        assertInstanceOf(IllegalStateException.class, tooLate.errors.get(0));
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls a full buffer behind should be failed, not block publishing")
+    void shouldFailSlowSubscriber() {
+        TaskEventFeed feed = new TaskEventFeed(4, Runnable::run);
+        RecordingSubscriber slow = new RecordingSubscriber();
+        feed.subscribe(slow);
+        slow.subscription.request(1);
+
+        for (int id = 1; id <= 10; id++) {
+            feed.publish(TaskEvent.Type.CREATED, new Task(id, "Task", ""), null);
+        }
+        slow.subscription.request(5);
+
+        assertEquals(List.of(1L), slow.sequences());
+        assertEquals(1, slow.errors.size());
+        assertEquals(10, feed.latestSequence());
+    }
+}
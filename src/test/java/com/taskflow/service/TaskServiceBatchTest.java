@@ -0,0 +1,133 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import com.taskflow.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the batch operations of TaskService.
+ */
+class TaskServiceBatchTest {
+
+    private CountingRepository repository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CountingRepository();
+        taskService = new TaskService(repository);
+    }
+
+    @Test
+    @DisplayName("A large import should be persisted with a single write")
+    void shouldPersistImportOnce() {
+        List<TaskDraft> drafts = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            drafts.add(new TaskDraft("Task " + i, "Imported"));
+        }
+
+        List<Task> created = taskService.addTasks(drafts);
+
+        assertEquals(10_000, created.size());
+        assertEquals(1, created.get(0).getId());
+        assertEquals(10_000, created.get(9_999).getId());
+        assertEquals(1, repository.writes);
+        assertEquals(10_000, repository.tasks.size());
+        assertEquals(10_001, taskService.addTask("Next", "").getId());
+    }
+
+    @Test
+    @DisplayName("Batch completes and deletes should apply and persist together")
+    void shouldCompleteAndDeleteInBatches() {
+        taskService.addTasks(List.of(new TaskDraft("A", ""), new TaskDraft("B", ""), new TaskDraft("C", "")));
+        repository.writes = 0;
+
+        taskService.completeTasks(new int[] {1, 3});
+        taskService.deleteTasks(new int[] {2, 3});
+
+        assertEquals(2, repository.writes);
+        assertEquals(List.of(1), taskService.getAllTasks().stream().map(Task::getId).toList());
+        assertEquals(TaskStatus.DONE, taskService.getTaskById(1).orElseThrow().getStatus());
+        assertEquals(List.of(1), List.copyOf(repository.tasks.keySet()));
+    }
+
+    @Test
+    @DisplayName("A failing operation should leave the batch completely unapplied")
+    void shouldApplyNothingWhenAnyOperationFails() {
+        taskService.addTasks(List.of(new TaskDraft("A", ""), new TaskDraft("B", "")));
+        repository.writes = 0;
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.completeTasks(new int[] {1, 99}));
+        assertThrows(IllegalStateException.class, () -> taskService.batch(batch -> batch
+                .add("C", "")
+                .complete(2)
+                .start(2)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.batch(batch -> batch
+                .delete(1)
+                .complete(1)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.addTasks(List.of(
+                new TaskDraft("D", ""), new TaskDraft("  ", ""))));
+
+        assertEquals(0, repository.writes);
+        assertEquals(2, taskService.getTaskCount());
+        assertEquals(2, taskService.getTaskCountByStatus(TaskStatus.TODO));
+        assertEquals(3, taskService.addTask("E", "").getId());
+    }
+
+    @Test
+    @DisplayName("Operations in a batch should see the effect of earlier ones")
+    void shouldValidateAgainstEarlierOperations() {
+        taskService.addTask("A", "");
+
+        List<Task> affected = taskService.batch(batch -> batch
+                .start(1)
+                .complete(1)
+                .add("B", "")
+                .delete(2));
+
+        assertEquals(4, affected.size());
+        assertEquals(TaskStatus.DONE, taskService.getTaskById(1).orElseThrow().getStatus());
+        assertTrue(taskService.getTaskById(2).isEmpty());
+        assertFalse(repository.tasks.containsKey(2));
+        assertEquals(TaskStatus.DONE, repository.tasks.get(1).getStatus());
+    }
+
+    /**
+     * In-memory repository that counts how often changes are written.
+     */
+    private static class CountingRepository implements TaskRepository {
+
+        private final Map<Integer, Task> tasks = new LinkedHashMap<>();
+        private int writes;
+
+        @Override
+        public void saveAll(List<Task> all) {
+            tasks.clear();
+            all.forEach(task -> tasks.put(task.getId(), task));
+            writes++;
+        }
+
+        @Override
+        public List<Task> loadAll() {
+            return new ArrayList<>(tasks.values());
+        }
+
+        @Override
+        public void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+            deletedIds.forEach(tasks::remove);
+            upserted.forEach(task -> tasks.put(task.getId(), task));
+            writes++;
+        }
+    }
+}
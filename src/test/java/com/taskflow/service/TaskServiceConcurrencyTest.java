@@ -0,0 +1,265 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import com.taskflow.model.VersionedTask;
+import com.taskflow.repository.LogTaskRepository;
+import com.taskflow.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for TaskService in concurrent mode.
+ * Every check-then-act operation must take effect exactly once, as if the calls
+ * had run one after another.
+ */
+class TaskServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Runs the same action on every thread at once and returns their results.
+     */
+    private <T> List<T> runTogether(Callable<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return action.call();
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent adds should allocate unique, gap-free IDs")
+    void shouldAllocateUniqueIds() throws Exception {
+        TaskService service = new TaskService(true);
+        int perThread = 2000;
+        ConcurrentLinkedQueue<Integer> ids = new ConcurrentLinkedQueue<>();
+
+        runTogether(() -> {
+            for (int i = 0; i < perThread; i++) {
+                ids.add(service.addTask("Task", "").getId());
+            }
+            return null;
+        });
+
+        Set<Integer> unique = new HashSet<>(ids);
+        assertEquals(THREADS * perThread, unique.size());
+        List<Integer> ordered = service.getAllTasks().stream().map(Task::getId).toList();
+        assertEquals(unique.stream().sorted().toList(), ordered);
+        assertEquals(THREADS * perThread, service.getTaskCount());
+        for (int id = 1; id <= THREADS * perThread; id++) {
+            assertTrue(unique.contains(id));
+            assertTrue(service.getTaskById(id).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Racing completes and deletes of the same task should each succeed exactly once")
+    void shouldApplyEachTransitionOnce() throws Exception {
+        TaskService service = new TaskService(true);
+        int count = 2000;
+        for (int i = 1; i <= count; i++) {
+            service.addTask("Task " + i, "");
+        }
+
+        List<Integer> completed = runTogether(() -> {
+            int wins = 0;
+            for (int id = 1; id <= count; id++) {
+                try {
+                    service.completeTask(id);
+                    wins++;
+                } catch (IllegalStateException e) {
+                    // Another thread completed it first.
+                }
+            }
+            return wins;
+        });
+        assertEquals(count, completed.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(count, service.getTaskCountByStatus(TaskStatus.DONE));
+
+        List<Integer> deleted = runTogether(() -> {
+            int wins = 0;
+            for (int id = 1; id <= count; id += 2) {
+                try {
+                    service.deleteTask(id);
+                    wins++;
+                } catch (IllegalArgumentException e) {
+                    // Another thread deleted it first.
+                }
+            }
+            return wins;
+        });
+        assertEquals(count / 2, deleted.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(count / 2, service.getTaskCount());
+        assertEquals(count / 2, service.getTasksByStatus(TaskStatus.DONE).size());
+        assertEquals(count / 2, service.getStats().getCount(TaskStatus.DONE));
+        assertEquals(count / 2, service.getStats().getTotal());
+    }
+
+    @Test
+    @DisplayName("Readers should only ever see consistent state while writers run")
+    void shouldServeConsistentReads() throws Exception {
+        TaskService service = new TaskService(true);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger roles = new AtomicInteger();
+
+        List<String> failures = runTogether(() -> {
+            if (roles.getAndIncrement() == 0) {
+                try {
+                    for (int i = 1; i <= 20_000; i++) {
+                        Task task = service.addTask("Task " + i, "");
+                        if (i % 2 == 0) {
+                            service.completeTask(task.getId());
+                        }
+                        if (i % 5 == 0) {
+                            service.deleteTask(task.getId());
+                        }
+                        written.set(i);
+                    }
+                } finally {
+                    writing.set(false);
+                }
+                return null;
+            }
+            while (writing.get()) {
+                int seen = written.get();
+                for (Task task : service.getTasksByStatus(TaskStatus.DONE)) {
+                    if (task.getStatus() != TaskStatus.DONE) {
+                        return "task " + task.getId() + " in DONE bucket with status " + task.getStatus();
+                    }
+                }
+                List<Task> all = service.getAllTasks();
+                for (int i = 1; i < all.size(); i++) {
+                    if (all.get(i - 1).getId() >= all.get(i).getId()) {
+                        return "tasks out of order at index " + i;
+                    }
+                }
+                if (seen > 0 && seen % 5 != 0 && service.getTaskById(seen).isEmpty()) {
+                    return "task " + seen + " missing after it was written";
+                }
+            }
+            return null;
+        });
+
+        failures.forEach(failure -> assertNull(failure, failure));
+        assertEquals(16_000, service.getTaskCount());
+        assertEquals(8_000, service.getTaskCountByStatus(TaskStatus.DONE));
+    }
+
+    @Test
+    @DisplayName("Concurrent changes should all reach the repository")
+    void shouldPersistConcurrentChanges(@TempDir Path dir) throws Exception {
+        String log = dir.resolve("tasks.log").toString();
+        TaskService service = new TaskService(new LogTaskRepository(log), true);
+
+        runTogether(() -> {
+            for (int i = 0; i < 200; i++) {
+                Task task = service.addTask("Task", "");
+                service.startTask(task.getId());
+                if (i % 4 == 0) {
+                    service.deleteTask(task.getId());
+                }
+            }
+            return null;
+        });
+
+        TaskService reloaded = new TaskService(new LogTaskRepository(log));
+        assertEquals(THREADS * 150, reloaded.getTaskCount());
+        assertEquals(THREADS * 150, reloaded.getTaskCountByStatus(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    @DisplayName("Changes to different tasks should reach the repository concurrently")
+    void shouldWriteDifferentTasksConcurrently() throws Exception {
+        CountDownLatch bothWriting = new CountDownLatch(2);
+        AtomicInteger writing = new AtomicInteger();
+        AtomicInteger mostWriting = new AtomicInteger();
+        TaskRepository repository = new TaskRepository() {
+            @Override
+            public void saveAll(List<Task> tasks) {
+            }
+
+            @Override
+            public List<Task> loadAll() {
+                return List.of();
+            }
+
+            @Override
+            public void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+                mostWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+                bothWriting.countDown();
+                try {
+                    bothWriting.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    writing.decrementAndGet();
+                }
+            }
+        };
+        TaskService service = new TaskService(repository, true);
+
+        runTogether(() -> service.addTask("Task", ""));
+
+        assertTrue(mostWriting.get() > 1, "a write held up the writes of other tasks");
+        assertEquals(THREADS, service.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Compare-and-set retry loops should apply every update exactly once")
+    void shouldApplyEveryCompareAndSetOnce() throws Exception {
+        TaskService service = new TaskService(true);
+        int id = service.addTask("Counter", "0").getId();
+        int perThread = 500;
+
+        runTogether(() -> {
+            for (int i = 0; i < perThread; i++) {
+                boolean applied = false;
+                while (!applied) {
+                    VersionedTask current = service.getVersionedTask(id).orElseThrow();
+                    int count = Integer.parseInt(current.description());
+                    applied = service.compareAndSet(current.withDescription(String.valueOf(count + 1))).isPresent();
+                }
+            }
+            return null;
+        });
+
+        VersionedTask result = service.getVersionedTask(id).orElseThrow();
+        assertEquals(String.valueOf(THREADS * perThread), result.description());
+        assertEquals(1 + THREADS * perThread, result.version());
+    }
+}
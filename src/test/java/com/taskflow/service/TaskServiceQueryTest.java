@@ -0,0 +1,135 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import com.taskflow.repository.H2TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaskService queries and their planning.
+ */
+class TaskServiceQueryTest {
+
+    private static final String[] WORDS = {"report", "invoice", "call", "review", "deploy", "lunch"};
+
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService();
+        Random random = new Random(19);
+        for (int i = 1; i <= 2000; i++) {
+            taskService.addTask(WORDS[random.nextInt(WORDS.length)] + " " + i, WORDS[random.nextInt(WORDS.length)]);
+            if (i % 3 == 0) {
+                taskService.startTask(i);
+            }
+            if (i % 50 == 0) {
+                taskService.completeTask(i);
+            }
+            if (i % 7 == 0) {
+                taskService.deleteTask(i);
+            }
+        }
+    }
+
+    private List<Integer> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private List<Integer> bruteForce(TaskQuery query) {
+        return taskService.getAllTasks().stream()
+                .filter(query.filter()::test)
+                .sorted(query.comparator())
+                .limit(query.limit())
+                .map(Task::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Combined filters, orders and limits should match a full pass over all tasks")
+    void shouldMatchBruteForce() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskQuery> queries = List.of(
+                TaskQuery.where(TaskFilter.status(TaskStatus.DONE)),
+                TaskQuery.where(TaskFilter.idBetween(100, 300).and(TaskFilter.text("report"))),
+                TaskQuery.where(TaskFilter.status(TaskStatus.IN_PROGRESS).or(TaskFilter.text("deploy lunch")))
+                        .orderBy(TaskQuery.Sort.TITLE).limit(25),
+                TaskQuery.where(TaskFilter.text("invoice").and(TaskFilter.createdBetween(null, now.plusDays(1))))
+                        .orderBy(TaskQuery.Sort.ID, true).limit(10),
+                TaskQuery.where(TaskFilter.createdBetween(now.minusDays(1), null).or(TaskFilter.idBetween(5, 9)))
+                        .orderBy(TaskQuery.Sort.CREATED_AT).limit(7),
+                TaskQuery.where(TaskFilter.all()).limit(3),
+                TaskQuery.where(TaskFilter.idBetween(1990, 5000).and(TaskFilter.status(TaskStatus.TODO))));
+
+        for (TaskQuery query : queries) {
+            assertEquals(bruteForce(query), ids(taskService.query(query)), query.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("The planner should use the most selective index and scan otherwise")
+    void shouldPlanWithMostSelectiveIndex() {
+        String done = taskService.explain(TaskQuery.where(
+                TaskFilter.status(TaskStatus.DONE).and(TaskFilter.text("report"))));
+        assertTrue(done.startsWith("status index"), done);
+
+        String range = taskService.explain(TaskQuery.where(
+                TaskFilter.status(TaskStatus.TODO).and(TaskFilter.idBetween(10, 20))));
+        assertTrue(range.startsWith("ID range"), range);
+
+        String text = taskService.explain(TaskQuery.where(
+                TaskFilter.status(TaskStatus.TODO).and(TaskFilter.text("lunch"))));
+        assertTrue(text.startsWith("text index"), text);
+
+        String created = taskService.explain(TaskQuery.where(
+                TaskFilter.createdBetween(LocalDateTime.now().plusDays(1), null).and(TaskFilter.status(TaskStatus.TODO))));
+        assertTrue(created.startsWith("createdAt index"), created);
+
+        String union = taskService.explain(TaskQuery.where(
+                TaskFilter.status(TaskStatus.DONE).or(TaskFilter.idBetween(1, 10))));
+        assertTrue(union.startsWith("union"), union);
+
+        String scan = taskService.explain(TaskQuery.where(
+                TaskFilter.createdBetween(null, LocalDateTime.now()).or(TaskFilter.status(TaskStatus.DONE))));
+        assertTrue(scan.startsWith("scan"), scan);
+    }
+
+    @Test
+    @DisplayName("Should reject queries without a positive limit")
+    void shouldRejectInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> TaskQuery.where(TaskFilter.all()).limit(0));
+    }
+
+    @Test
+    @DisplayName("Should run queries against a queryable repository")
+    void shouldQueryRepository(@TempDir Path dir) {
+        try (H2TaskRepository repository = new H2TaskRepository(dir.resolve("tasks").toString())) {
+            TaskService service = new TaskService(repository);
+            for (int i = 1; i <= 20; i++) {
+                service.addTask("Task " + i, i % 2 == 0 ? "even" : "odd");
+            }
+            service.completeTask(4);
+            service.completeTask(5);
+
+            TaskQuery query = TaskQuery.where(TaskFilter.idBetween(3, 12).and(TaskFilter.text("even")))
+                    .orderBy(TaskQuery.Sort.ID, true).limit(3);
+            assertEquals(List.of(12, 10, 8), ids(service.query(query)));
+            assertTrue(service.explain(query).startsWith("primary key"));
+
+            assertEquals(List.of(4, 5), ids(service.query(TaskQuery.where(TaskFilter.status(TaskStatus.DONE)))));
+            assertEquals(List.of(20, 19), ids(service.query(TaskQuery.where(TaskFilter.all())
+                    .orderBy(TaskQuery.Sort.ID, true).limit(2))));
+        }
+    }
+}
@@ -2,10 +2,23 @@ package com.taskflow.service;
 
 import com.taskflow.model.Task;
 import com.taskflow.model.TaskStatus;
+import com.taskflow.model.VersionedTask;
+import com.taskflow.repository.BinaryTaskRepository;
+import com.taskflow.repository.H2TaskRepository;
+import com.taskflow.repository.JsonTaskRepository;
+import com.taskflow.repository.LogTaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -119,13 +132,29 @@ class TaskServiceTest {
     @Test
     @DisplayName("US-3: Should mark IN_PROGRESS task as complete")
     void shouldCompleteInProgressTask() {
-        Task task = taskService.addTask("Task 1", "");
-        task.setStatus(TaskStatus.IN_PROGRESS);
+        taskService.addTask("Task 1", "");
+        taskService.startTask(1);
 
         Task completed = taskService.completeTask(1);
         assertEquals(TaskStatus.DONE, completed.getStatus());
     }
 
+    @Test
+    @DisplayName("Tasks returned by changes should be read-only")
+    void shouldReturnReadOnlyTasksFromChanges() {
+        Task added = taskService.addTask("Task 1", "");
+        Task started = taskService.startTask(1);
+        Task renamed = taskService.updateTitle(1, "Renamed");
+        Task batched = taskService.addTasks(List.of(new TaskDraft("Task 2", ""))).get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> added.setStatus(TaskStatus.DONE));
+        assertThrows(UnsupportedOperationException.class, () -> started.setTitle("Other"));
+        assertThrows(UnsupportedOperationException.class, () -> renamed.setDescription("Other"));
+        assertThrows(UnsupportedOperationException.class, () -> batched.setStatus(TaskStatus.DONE));
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.getTaskById(1).orElseThrow().getStatus());
+        assertEquals(1, taskService.getTaskCountByStatus(TaskStatus.IN_PROGRESS));
+    }
+
     @Test
     @DisplayName("US-3: Should throw exception for non-existent task")
     void shouldThrowForNonExistentTask() {
@@ -269,4 +298,341 @@ class TaskServiceTest {
         Optional<Task> found = taskService.getTaskById(999);
         assertTrue(found.isEmpty());
     }
+
+    @Test
+    @DisplayName("US-4: Status filters and counts should follow status transitions")
+    void shouldTrackStatusBuckets() {
+        for (int i = 1; i <= 6; i++) {
+            taskService.addTask("Task " + i, "");
+        }
+        taskService.completeTask(5);
+        taskService.startTask(2);
+        taskService.completeTask(1);
+        taskService.completeTask(2);
+        taskService.deleteTask(3);
+
+        assertEquals(List.of(1, 2, 5), taskService.getTasksByStatus(TaskStatus.DONE).stream().map(Task::getId).toList());
+        assertEquals(List.of(4, 6), taskService.getTasksByStatus(TaskStatus.TODO).stream().map(Task::getId).toList());
+        assertEquals(3, taskService.getTaskCountByStatus(TaskStatus.DONE));
+        assertEquals(0, taskService.getTaskCountByStatus(TaskStatus.IN_PROGRESS));
+        assertEquals(2, taskService.getTaskCountByStatus(TaskStatus.TODO));
+    }
+
+    @Test
+    @DisplayName("Should search titles and descriptions and follow edits and deletions")
+    void shouldSearchTasks() {
+        taskService.addTask("Write report", "Quarterly numbers");
+        taskService.addTask("Call bank", "Ask about the quarterly fee");
+        taskService.addTask("Buy milk", "");
+
+        assertEquals(List.of(1, 2), taskService.searchTasks("quarterly").stream().map(Task::getId).toList());
+        assertEquals(List.of(3), taskService.searchTasks("MILK").stream().map(Task::getId).toList());
+
+        taskService.updateTitle(3, "Buy oat drink");
+        taskService.updateDescription(1, "Annual numbers");
+        taskService.deleteTask(2);
+
+        assertTrue(taskService.searchTasks("milk").isEmpty());
+        assertTrue(taskService.searchTasks("quarterly").isEmpty());
+        assertEquals(List.of(3), taskService.searchTasks("oat").stream().map(Task::getId).toList());
+        assertEquals(List.of(1), taskService.searchTasks("annual").stream().map(Task::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty title on update and keep the task searchable")
+    void shouldRejectEmptyTitleOnUpdate() {
+        taskService.addTask("Write report", "");
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTitle(1, " "));
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTitle(99, "Other"));
+        assertEquals("Write report", taskService.getTaskById(1).orElseThrow().getTitle());
+        assertEquals(1, taskService.searchTasks("report").size());
+    }
+
+    @Test
+    @DisplayName("A rejected title update should leave a built text index intact")
+    void shouldKeepTextIndexAfterRejectedUpdate() {
+        taskService.addTask("Write report", "numbers");
+        assertEquals(1, taskService.searchTasks("report").size());
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTitle(1, "  "));
+
+        assertEquals(1, taskService.searchTasks("report numbers").size());
+        assertEquals(1, taskService.query(TaskQuery.where(TaskFilter.text("report"))).size());
+    }
+
+    @Test
+    @DisplayName("Should page through tasks with a cursor, skipping deleted tasks")
+    void shouldPageThroughTasks() {
+        for (int i = 1; i <= 10; i++) {
+            taskService.addTask("Task " + i, "");
+        }
+        taskService.deleteTask(4);
+        taskService.completeTask(6);
+        taskService.completeTask(9);
+
+        TaskPage first = taskService.getTasksPage(0, 4);
+        assertEquals(List.of(1, 2, 3, 5), first.tasks().stream().map(Task::getId).toList());
+        assertEquals(5, first.nextCursor().orElseThrow());
+
+        taskService.deleteTask(6);
+        TaskPage second = taskService.getTasksPage(first.nextCursor().getAsInt(), 4);
+        assertEquals(List.of(7, 8, 9, 10), second.tasks().stream().map(Task::getId).toList());
+        assertFalse(second.hasNext());
+
+        TaskPage done = taskService.getTasksPage(0, 1, TaskStatus.DONE);
+        assertEquals(List.of(9), done.tasks().stream().map(Task::getId).toList());
+        assertFalse(done.hasNext());
+        assertTrue(taskService.getTasksPage(10, 5).tasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject page sizes outside the allowed range")
+    void shouldRejectInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage(0, TaskService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("A snapshot should keep its version of the tasks while the service changes")
+    void shouldKeepSnapshotsConsistent() {
+        taskService.addTask("Task 1", "");
+        taskService.addTask("Task 2", "");
+        TaskSnapshot before = taskService.snapshot();
+
+        taskService.completeTask(1);
+        taskService.deleteTask(2);
+        taskService.addTask("Task 3", "");
+        List<Task> iterated = new ArrayList<>();
+        for (Task task : before) {
+            iterated.add(task);
+        }
+
+        assertEquals(List.of(1, 2), iterated.stream().map(Task::getId).toList());
+        assertEquals(TaskStatus.TODO, before.getTask(1).orElseThrow().getStatus());
+        assertThrows(UnsupportedOperationException.class, () -> before.getTask(1).orElseThrow().setStatus(TaskStatus.DONE));
+
+        TaskSnapshot after = taskService.snapshot();
+        assertTrue(after.version() > before.version());
+        assertEquals(List.of(1, 3), after.tasks().stream().map(Task::getId).toList());
+        assertEquals(TaskStatus.DONE, after.getTask(1).orElseThrow().getStatus());
+        assertSame(after, taskService.snapshot());
+    }
+
+    @Test
+    @DisplayName("A batch should be published as a single snapshot version")
+    void shouldPublishBatchAsOneVersion() {
+        long start = taskService.snapshot().version();
+
+        taskService.addTasks(List.of(new TaskDraft("A", ""), new TaskDraft("B", ""), new TaskDraft("C", "")));
+
+        assertEquals(start + 1, taskService.snapshot().version());
+        assertEquals(3, taskService.snapshot().size());
+    }
+
+    @Test
+    @DisplayName("Should find tasks by creation time range, oldest first")
+    void shouldFindTasksCreatedBetween(@TempDir Path dir) {
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 9, 0);
+        JsonTaskRepository repository = new JsonTaskRepository(dir.resolve("tasks.json").toString());
+        repository.saveAll(List.of(
+                new Task(1, "Task 1", "", TaskStatus.TODO, base.plusHours(5)),
+                new Task(2, "Task 2", "", TaskStatus.TODO, base),
+                new Task(3, "Task 3", "", TaskStatus.DONE, base.plusHours(2)),
+                new Task(4, "Task 4", "", TaskStatus.TODO, base.plusHours(2)),
+                new Task(5, "Task 5", "", TaskStatus.TODO, base.plusDays(1))));
+        TaskService service = new TaskService(repository);
+        service.deleteTask(4);
+
+        assertEquals(List.of(2, 3, 1), service.getTasksCreatedBetween(base, base.plusHours(6))
+                .stream().map(Task::getId).toList());
+        assertEquals(List.of(3), service.getTasksCreatedBetween(base.plusHours(2), base.plusHours(5))
+                .stream().map(Task::getId).toList());
+        assertEquals(List.of(1, 5), service.getTasksCreatedBetween(base.plusHours(3), null)
+                .stream().map(Task::getId).toList());
+        assertEquals(List.of(2), service.getTasksCreatedBetween(null, base.plusHours(1))
+                .stream().map(Task::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> service.getTasksCreatedBetween(base, base.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Statistics should follow every change, including loaded tasks and batches")
+    void shouldMaintainStatistics(@TempDir Path dir) {
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        JsonTaskRepository repository = new JsonTaskRepository(dir.resolve("tasks.json").toString());
+        repository.saveAll(List.of(
+                new Task(1, "Old done", "", TaskStatus.DONE, yesterday),
+                new Task(2, "Old todo", "", TaskStatus.TODO, yesterday)));
+        TaskService service = new TaskService(repository);
+        TaskStats stats = service.getStats();
+        assertTrue(stats.getAverageTimeToDone().isEmpty());
+
+        service.addTask("New 1", "");
+        service.addTask("New 2", "");
+        service.startTask(3);
+        service.completeTask(2);
+        service.batch(batch -> batch.complete(3).add("New 3", "").delete(1));
+
+        assertEquals(4, stats.getTotal());
+        assertEquals(2, stats.getCount(TaskStatus.TODO));
+        assertEquals(0, stats.getCount(TaskStatus.IN_PROGRESS));
+        assertEquals(2, stats.getCount(TaskStatus.DONE));
+        assertEquals(0.5, stats.getCompletionRate());
+        assertEquals(1, stats.getCreatedOn(yesterday.toLocalDate()));
+        assertEquals(3, stats.getCreatedOn(LocalDate.now()));
+        assertEquals(List.of(yesterday.toLocalDate(), LocalDate.now()), List.copyOf(stats.getCreatedPerDay().keySet()));
+        assertTrue(stats.getAverageTimeToDone().orElseThrow().compareTo(Duration.ofHours(11)) > 0);
+
+        service.deleteTask(2);
+        assertEquals(0, stats.getCreatedOn(yesterday.toLocalDate()));
+        assertFalse(stats.getCreatedPerDay().containsKey(yesterday.toLocalDate()));
+    }
+
+    @Test
+    @DisplayName("Should keep lookups and order correct across many deletions")
+    void shouldKeepIndexConsistentAcrossDeletions() {
+        for (int i = 1; i <= 1000; i++) {
+            taskService.addTask("Task " + i, "");
+        }
+        for (int id = 1; id <= 1000; id += 3) {
+            taskService.deleteTask(id);
+        }
+        taskService.completeTask(500);
+
+        List<Task> tasks = taskService.getAllTasks();
+        assertEquals(666, tasks.size());
+        assertEquals(666, taskService.getTaskCount());
+        assertEquals(2, tasks.get(0).getId());
+        assertEquals(999, tasks.get(tasks.size() - 1).getId());
+        assertTrue(taskService.getTaskById(4).isEmpty());
+        assertEquals(TaskStatus.DONE, taskService.getTaskById(500).orElseThrow().getStatus());
+        assertEquals(1001, taskService.addTask("Task 1001", "").getId());
+    }
+
+    @Test
+    @DisplayName("Should load tasks from the repository and continue the ID sequence")
+    void shouldLoadTasksFromRepository(@TempDir Path dir) {
+        JsonTaskRepository repository = new JsonTaskRepository(dir.resolve("tasks.json").toString());
+        repository.saveAll(List.of(new Task(3, "Task 3", ""), new Task(7, "Task 7", "")));
+
+        TaskService service = new TaskService(repository);
+
+        assertEquals(2, service.getTaskCount());
+        assertEquals(List.of(7), service.searchTasks("7").stream().map(Task::getId).toList());
+        assertEquals(8, service.addTask("Task 8", "").getId());
+    }
+
+    @Test
+    @DisplayName("Should persist only changed tasks through an incremental repository")
+    void shouldPersistIncrementally(@TempDir Path dir) throws IOException {
+        Path log = dir.resolve("tasks.log");
+        TaskService service = new TaskService(new LogTaskRepository(log.toString()));
+        service.addTask("Task 1", "");
+        service.addTask("Task 2", "");
+        service.startTask(1);
+        service.deleteTask(2);
+
+        try (var lines = Files.lines(log)) {
+            assertEquals(4, lines.count());
+        }
+        TaskService reloaded = new TaskService(new LogTaskRepository(log.toString()));
+        assertEquals(1, reloaded.getTaskCount());
+        assertEquals(TaskStatus.IN_PROGRESS, reloaded.getTaskById(1).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should push queries down to a queryable repository")
+    void shouldQueryThroughQueryableRepository(@TempDir Path dir) {
+        String database = dir.resolve("tasks").toString();
+        try (H2TaskRepository repository = new H2TaskRepository(database)) {
+            TaskService service = new TaskService(repository);
+            service.addTask("Task 1", "");
+            service.addTask("Task 2", "");
+            service.completeTask(2);
+        }
+
+        try (H2TaskRepository repository = new H2TaskRepository(database)) {
+            TaskService reloaded = new TaskService(repository);
+            assertEquals(2, reloaded.getTaskCount());
+            assertEquals(List.of(2), reloaded.getTasksByStatus(TaskStatus.DONE).stream().map(Task::getId).toList());
+
+            TaskPage page = reloaded.getTasksPage(0, 1);
+            assertEquals(List.of(1), page.tasks().stream().map(Task::getId).toList());
+            assertEquals(List.of(2), reloaded.getTasksPage(page.nextCursor().getAsInt(), 1).tasks().stream().map(Task::getId).toList());
+            assertTrue(reloaded.getTasksPage(0, 5, TaskStatus.TODO).tasks().stream().allMatch(task -> task.getId() == 1));
+
+            assertEquals(List.of(1, 2), reloaded.getTasksCreatedBetween(null, null).stream().map(Task::getId).toList());
+            assertTrue(reloaded.getTasksCreatedBetween(LocalDateTime.now().plusDays(1), null).isEmpty());
+
+            reloaded.deleteTask(1);
+            assertTrue(repository.findById(1).isEmpty());
+            assertEquals(3, reloaded.addTask("Task 3", "").getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep tasks in the columnar engine and persist changes")
+    void shouldUseColumnarEngine(@TempDir Path dir) {
+        Path log = dir.resolve("tasks.log");
+        TaskService service = new TaskService(new LogTaskRepository(log.toString()), StorageEngine.COLUMNAR, true);
+        service.addTask("Write report", "quarterly numbers");
+        service.addTask("Buy milk", "");
+        service.completeTask(1);
+        service.updateTitle(2, "Buy oat milk");
+
+        TaskService reloaded = new TaskService(new LogTaskRepository(log.toString()), StorageEngine.COLUMNAR, false);
+        assertEquals(2, reloaded.getTaskCount());
+        assertEquals(TaskStatus.DONE, reloaded.getTaskById(1).orElseThrow().getStatus());
+        assertEquals(List.of(2), reloaded.searchTasks("oat").stream().map(Task::getId).toList());
+        assertEquals(1, reloaded.getStats().getCount(TaskStatus.DONE));
+        assertEquals(3, reloaded.addTask("Task 3", "").getId());
+    }
+
+    @Test
+    @DisplayName("Should list and search tasks loaded with lazy descriptions")
+    void shouldServeLazyDescriptions(@TempDir Path dir) {
+        String file = dir.resolve("tasks.bin").toString();
+        new BinaryTaskRepository(file).saveAll(List.of(
+                new Task(1, "Write report", "quarterly numbers"),
+                new Task(2, "Buy milk", "oat milk")));
+
+        TaskService service = new TaskService(new BinaryTaskRepository(file, 16), true);
+
+        assertEquals(List.of(1, 2), service.getAllTasks().stream().map(Task::getId).toList());
+        assertEquals(List.of(1), service.searchTasks("quarterly").stream().map(Task::getId).toList());
+        assertEquals("oat milk", service.getTaskById(2).orElseThrow().getDescription());
+        service.updateDescription(2, "almond milk");
+        assertEquals(List.of(2), service.searchTasks("almond").stream().map(Task::getId).toList());
+        assertTrue(service.searchTasks("oat").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply compare-and-set updates only at the current version")
+    void shouldCompareAndSet() {
+        taskService.addTask("Draft", "first");
+        VersionedTask read = taskService.getVersionedTask(1).orElseThrow();
+        assertEquals(1, read.version());
+
+        VersionedTask stored = taskService.compareAndSet(read.withTitle("Final").withStatus(TaskStatus.IN_PROGRESS))
+                .orElseThrow();
+        assertEquals("Final", stored.title());
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.getTaskById(1).orElseThrow().getStatus());
+        assertEquals(2, stored.version());
+        assertEquals(stored, taskService.getVersionedTask(1).orElseThrow());
+
+        assertTrue(taskService.compareAndSet(read.withDescription("stale")).isEmpty());
+        assertEquals("first", taskService.getTaskById(1).orElseThrow().getDescription());
+
+        taskService.completeTask(1);
+        VersionedTask done = taskService.getVersionedTask(1).orElseThrow();
+        assertEquals(3, done.version());
+        assertThrows(UnsupportedOperationException.class,
+                () -> taskService.getTaskById(1).orElseThrow().setStatus(TaskStatus.TODO));
+        assertThrows(IllegalStateException.class, () -> taskService.compareAndSet(done.withStatus(TaskStatus.TODO)));
+        assertEquals(done, taskService.compareAndSet(done).orElseThrow());
+
+        taskService.deleteTask(1);
+        assertTrue(taskService.getVersionedTask(1).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> taskService.compareAndSet(done));
+    }
 }
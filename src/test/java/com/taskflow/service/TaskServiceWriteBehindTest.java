@@ -0,0 +1,207 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import com.taskflow.model.TaskStatus;
+import com.taskflow.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the write-behind persistence mode of TaskService.
+ */
+class TaskServiceWriteBehindTest {
+
+    private TaskService taskService;
+
+    @AfterEach
+    void tearDown() {
+        if (taskService != null) {
+            try {
+                taskService.close();
+            } catch (IllegalStateException ignored) {
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Mutations should return before anything is written")
+    void shouldNotWriteOnMutation() {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 1000);
+
+        taskService.addTask("Task 1", "");
+        taskService.addTask("Task 2", "");
+        taskService.completeTask(1);
+
+        assertEquals(0, repository.saveCount());
+    }
+
+    @Test
+    @DisplayName("Flush should write the latest state once")
+    void shouldCoalesceOnFlush() {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 1000);
+
+        taskService.addTask("Task 1", "");
+        taskService.addTask("Task 2", "");
+        taskService.completeTask(1);
+        taskService.flush();
+
+        assertEquals(1, repository.saveCount());
+        assertEquals(2, repository.lastSaved().size());
+        assertEquals(TaskStatus.DONE, repository.lastSaved().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should write tasks as they were when the change was recorded")
+    void shouldWriteSnapshotsNotLiveTasks() {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 1000);
+
+        taskService.addTask("Task 1", "");
+        taskService.flush();
+        taskService.completeTask(1);
+
+        assertEquals(TaskStatus.TODO, repository.lastSaved().get(0).getStatus());
+        taskService.flush();
+        assertEquals(TaskStatus.DONE, repository.lastSaved().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Flush should write only the net effect of coalesced changes")
+    void shouldCoalesceAddAndDelete() {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 1000);
+
+        taskService.addTask("Task 1", "");
+        taskService.addTask("Task 2", "");
+        taskService.flush();
+        taskService.deleteTask(1);
+        taskService.startTask(2);
+        taskService.addTask("Task 3", "");
+        taskService.flush();
+
+        assertEquals(2, repository.saveCount());
+        List<Task> stored = repository.lastSaved();
+        assertEquals(2, stored.size());
+        assertEquals(TaskStatus.IN_PROGRESS, stored.get(0).getStatus());
+        assertEquals(3, stored.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Reaching the dirty threshold should trigger a background write")
+    void shouldWriteWhenThresholdReached() throws InterruptedException {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 3);
+
+        taskService.addTask("Task 1", "");
+        taskService.addTask("Task 2", "");
+        taskService.addTask("Task 3", "");
+
+        assertTrue(repository.awaitSaves(1, 5000));
+        assertEquals(3, repository.lastSaved().size());
+    }
+
+    @Test
+    @DisplayName("The flush interval should trigger a background write")
+    void shouldWriteOnInterval() throws InterruptedException {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofMillis(20), 1000);
+
+        taskService.addTask("Task 1", "");
+
+        assertTrue(repository.awaitSaves(1, 5000));
+    }
+
+    @Test
+    @DisplayName("Close should write pending mutations")
+    void shouldWriteOnClose() {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 1000);
+
+        taskService.addTask("Task 1", "");
+        taskService.close();
+
+        assertEquals(1, repository.saveCount());
+        assertThrows(IllegalStateException.class, () -> taskService.addTask("Task 2", ""));
+    }
+
+    @Test
+    @DisplayName("A failed write should be reported by flush and retried")
+    void shouldReportAndRetryFailedWrite() {
+        RecordingRepository repository = new RecordingRepository();
+        taskService = new TaskService(repository, Duration.ofHours(1), 1000);
+        repository.failing.set(true);
+
+        taskService.addTask("Task 1", "");
+        IllegalStateException error = assertThrows(IllegalStateException.class, taskService::flush);
+        assertTrue(error.getMessage().contains("disk full"));
+
+        repository.failing.set(false);
+        taskService.flush();
+        assertEquals(1, repository.saveCount());
+        assertEquals(1, repository.lastSaved().size());
+    }
+
+    /**
+     * Repository double that keeps tasks in memory and counts every successful write.
+     */
+    private static class RecordingRepository implements TaskRepository {
+        private final Map<Integer, Task> stored = new LinkedHashMap<>();
+        private final AtomicBoolean failing = new AtomicBoolean();
+        private int writes;
+
+        @Override
+        public synchronized void saveAll(List<Task> tasks) {
+            stored.clear();
+            applyChanges(tasks, List.of());
+        }
+
+        @Override
+        public synchronized void applyChanges(Collection<Task> upserted, Collection<Integer> deletedIds) {
+            if (failing.get()) {
+                throw new RuntimeException("disk full");
+            }
+            deletedIds.forEach(stored::remove);
+            upserted.forEach(task -> stored.put(task.getId(), task));
+            writes++;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized List<Task> loadAll() {
+            return new ArrayList<>(stored.values());
+        }
+
+        synchronized int saveCount() {
+            return writes;
+        }
+
+        synchronized List<Task> lastSaved() {
+            return loadAll();
+        }
+
+        synchronized boolean awaitSaves(int count, long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (writes < count) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskflow.service;
+
+import com.taskflow.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the persistent TaskTrie.
+ */
+class TaskTrieTest {
+
+    private static List<Integer> ids(TaskTrie trie) {
+        List<Integer> ids = new ArrayList<>();
+        trie.forEach(task -> ids.add(task.getId()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Older versions should be unaffected by later changes")
+    void shouldKeepOlderVersions() {
+        TaskTrie first = TaskTrie.EMPTY.with(new Task(1, "One", "")).with(new Task(40, "Forty", ""));
+        TaskTrie second = first.with(new Task(1, "Renamed", "")).without(40).with(new Task(100_000, "Far", ""));
+
+        assertEquals(List.of(1, 40), ids(first));
+        assertEquals("One", first.get(1).getTitle());
+        assertEquals(List.of(1, 100_000), ids(second));
+        assertEquals("Renamed", second.get(1).getTitle());
+        assertNull(second.get(40));
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertSame(second, second.without(7));
+    }
+
+    @Test
+    @DisplayName("Should match a sorted map under random changes")
+    void shouldMatchReferenceMap() {
+        Random random = new Random(17);
+        TreeMap<Integer, Task> expected = new TreeMap<>();
+        TaskTrie trie = TaskTrie.EMPTY;
+
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(5) == 0 ? random.nextInt(Integer.MAX_VALUE) : 1 + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(id);
+                trie = trie.without(id);
+            } else {
+                Task task = new Task(id, "Task " + i, "");
+                expected.put(id, task);
+                trie = trie.with(task);
+            }
+        }
+
+        assertEquals(expected.size(), trie.size());
+        assertEquals(List.copyOf(expected.keySet()), ids(trie));
+        for (int id = 1; id <= 3000; id++) {
+            assertSame(expected.get(id), trie.get(id));
+        }
+        assertSame(expected.lastEntry().getValue(), trie.get(expected.lastKey()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskflow.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TextIndex inverted index.
+ */
+class TextIndexTest {
+
+    @Test
+    @DisplayName("Should tokenize into distinct lower-case words")
+    void shouldTokenize() {
+        assertEquals(List.of("fix", "login", "bug", "v2"),
+                List.copyOf(TextIndex.tokenize("Fix LOGIN-bug (v2), fix!")));
+        assertTrue(TextIndex.tokenize("  ,. ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank title matches and rarer words first")
+    void shouldRankMatches() {
+        TextIndex index = new TextIndex();
+        index.add(1, "Write report", "quarterly numbers for the report");
+        index.add(2, "Call bank", "ask about the report");
+        index.add(3, "Report bug", "");
+        index.add(4, "Buy milk", "");
+
+        assertEquals(List.of(1, 3, 2), index.search("report"));
+        assertEquals(List.of(2, 1, 3), index.search("bank report"));
+        assertTrue(index.search("nothing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should forget removed text")
+    void shouldRemoveTasks() {
+        TextIndex index = new TextIndex();
+        index.add(1, "Write report", "");
+        index.add(2, "Read report", "");
+
+        index.remove(1, "Write report", "");
+        index.add(1, "Write summary", "");
+
+        assertEquals(List.of(2), index.search("report"));
+        assertEquals(List.of(1), index.search("summary"));
+    }
+}